@@ -0,0 +1,46 @@
+package hotel.benchmarks;
+
+import hotel.App;
+import hotel.db.EntityManagerFactoryProvider;
+import hotel.idempotency.IdempotencyService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Конфигурация контекста для бенчмарков.
+ * Поднимает сервисный слой, DAO, кэши и аспекты приложения без веб-слоя:
+ * контроллеры, HTTP-перехватчики, {@link IdempotencyService} и конфигурация {@link App}
+ * в контекст не попадают.
+ */
+@EnableTransactionManagement
+@EnableAspectJAutoProxy(proxyTargetClass = true)
+@Configuration
+@ComponentScan(basePackages = "hotel", excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {App.class, IdempotencyService.class}),
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = HandlerInterceptor.class),
+        @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = {Controller.class, ControllerAdvice.class})
+})
+@PropertySource("classpath:application.properties")
+public class BenchmarkConfiguration {
+
+    @Bean
+    public static PropertySourcesPlaceholderConfigurer propertyConfigurer() {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactoryProvider emfProvider) {
+        return new JpaTransactionManager(emfProvider.getEntityManagerFactory());
+    }
+}
@@ -0,0 +1,60 @@
+package hotel.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Заселение гостя в свободный номер и его выселение.
+ * Каждая операция берёт следующую пару свободных гостя и номера по кругу,
+ * поэтому после выселения состояние базы возвращается к исходному,
+ * а история номеров растёт только до размера кольца.
+ * Выполняется в один поток: пары свободных гостей и номеров не разделяются между потоками.
+ * Требует хотя бы одного свободного гостя и номера: guests должно быть больше rooms * occupancy,
+ * а occupancy - меньше 1.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class CheckInCheckOutBenchmark {
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(HotelState state) {
+        if (state.getFreeGuestIds().isEmpty() || state.getFreeRoomNumbers().isEmpty()) {
+            throw new IllegalStateException("Для заселения нужны свободные гости и номера, после заполнения их: "
+                    + state.getFreeGuestIds().size() + " и " + state.getFreeRoomNumbers().size()
+                    + "; увеличьте guests или уменьшите occupancy");
+        }
+    }
+
+    @Benchmark
+    public boolean checkInCheckOut(HotelState state) {
+        int guestIndex = cursor % state.getFreeGuestIds().size();
+        int roomIndex = cursor % state.getFreeRoomNumbers().size();
+        cursor++;
+
+        long guestId = state.getFreeGuestIds().get(guestIndex);
+        LocalDate today = LocalDate.now();
+        state.getGuestManager().checkInGuest(guestId, state.getFreeRoomNumbers().get(roomIndex),
+                today, today.plusDays(1));
+        return state.getGuestManager().checkOutGuest(guestId);
+    }
+}
@@ -0,0 +1,45 @@
+package hotel.benchmarks;
+
+import hotel.dto.GuestDto;
+import hotel.enums.GuestSortOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение отсортированной страницы гостей, в том числе с фильтром по заселению.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GuestQueryBenchmark {
+
+    @Param({"BY_NAME", "BY_ROOM_NUMBER"})
+    private GuestSortOption sortOption;
+
+    @Param({"50"})
+    private int pageSize;
+
+    @Benchmark
+    public List<GuestDto> sortedGuestsPage(HotelState state) {
+        return state.getGuestManager().getSortedGuests(sortOption, null, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<GuestDto> sortedCheckedInGuestsPage(HotelState state) {
+        return state.getGuestManager().getSortedGuests(sortOption, true, 0, pageSize);
+    }
+}
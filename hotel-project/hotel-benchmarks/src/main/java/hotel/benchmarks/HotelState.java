@@ -0,0 +1,161 @@
+package hotel.benchmarks;
+
+import hotel.dto.BatchItemResultDto;
+import hotel.model.Guest;
+import hotel.model.Room;
+import hotel.service.interfaces.IGuestManager;
+import hotel.service.interfaces.IRoomManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Общее состояние бенчмарков: контекст приложения и заполненная база.
+ * По умолчанию используется встроенная H2 в режиме совместимости с PostgreSQL,
+ * другую базу можно задать системными свойствами db.url, db.user и db.password.
+ * Размер набора данных задаётся параметрами rooms, guests и occupancy
+ * (доля номеров, в которые заселено по одному гостю). Значения по умолчанию
+ * оставляют свободными и гостей, и номера при любом количестве номеров.
+ * Номера, созданные для бенчмарков, начинаются с {@link #FIRST_ROOM_NUMBER},
+ * чтобы не пересекаться с тестовыми данными миграций.
+ */
+@State(Scope.Benchmark)
+public class HotelState {
+
+    public static final int FIRST_ROOM_NUMBER = 10_000;
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:hotel_bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int SEQUENCE_START = 1_000_000;
+    private static final List<String> SEQUENCES =
+            List.of("rooms_seq", "guests_seq", "services_seq", "stay_history_seq", "reservations_seq");
+
+    @Param({"1000", "10000"})
+    private int rooms;
+
+    @Param({"15000"})
+    private int guests;
+
+    @Param({"0.5"})
+    private double occupancy;
+
+    private AnnotationConfigApplicationContext context;
+    private IRoomManager roomManager;
+    private IGuestManager guestManager;
+
+    private final List<Long> freeGuestIds = new ArrayList<>();
+    private final List<Integer> freeRoomNumbers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        System.setProperty("db.url", System.getProperty("db.url", H2_URL));
+        System.setProperty("db.user", System.getProperty("db.user", "sa"));
+        System.setProperty("db.password", System.getProperty("db.password", ""));
+        System.setProperty("db.show.sql", System.getProperty("db.show.sql", "false"));
+
+        context = new AnnotationConfigApplicationContext(BenchmarkConfiguration.class);
+        roomManager = context.getBean(IRoomManager.class);
+        guestManager = context.getBean(IGuestManager.class);
+
+        if (System.getProperty("db.url").startsWith("jdbc:h2:")) {
+            restartSequences(context.getBean(DataSource.class));
+        }
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public IRoomManager getRoomManager() {
+        return roomManager;
+    }
+
+    public IGuestManager getGuestManager() {
+        return guestManager;
+    }
+
+    public int getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Идентификаторы гостей, которые после заполнения не заселены.
+     * @return список идентификаторов
+     */
+    public List<Long> getFreeGuestIds() {
+        return freeGuestIds;
+    }
+
+    /**
+     * Номера комнат, которые после заполнения свободны.
+     * @return список номеров
+     */
+    public List<Integer> getFreeRoomNumbers() {
+        return freeRoomNumbers;
+    }
+
+    private void seed() {
+        List<Room> newRooms = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            newRooms.add(new Room(0, FIRST_ROOM_NUMBER + i, 1 + i % 4, 1000 + (i * 37) % 9000, 1 + i % 5));
+            if (newRooms.size() == SEED_BATCH_SIZE) {
+                roomManager.addRooms(newRooms);
+                newRooms.clear();
+            }
+        }
+        if (!newRooms.isEmpty()) {
+            roomManager.addRooms(newRooms);
+        }
+
+        List<Long> guestIds = new ArrayList<>();
+        List<Guest> newGuests = new ArrayList<>();
+        for (int i = 0; i < guests; i++) {
+            newGuests.add(new Guest(0, 18 + i % 60, "Guest" + i, "Bench" + (guests - i)));
+            if (newGuests.size() == SEED_BATCH_SIZE || i == guests - 1) {
+                for (BatchItemResultDto result : guestManager.addGuests(newGuests)) {
+                    guestIds.add(result.getId());
+                }
+                newGuests.clear();
+            }
+        }
+
+        int occupied = Math.min((int) (rooms * occupancy), guestIds.size());
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < occupied; i++) {
+            guestManager.checkInGuest(guestIds.get(i), FIRST_ROOM_NUMBER + i, today, today.plusDays(1 + i % 14));
+        }
+        freeGuestIds.addAll(guestIds.subList(occupied, guestIds.size()));
+        for (int i = occupied; i < rooms; i++) {
+            freeRoomNumbers.add(FIRST_ROOM_NUMBER + i);
+        }
+    }
+
+    /**
+     * Сдвигает последовательности H2 за пределы идентификаторов тестовых данных:
+     * на PostgreSQL это делает миграция, на H2 она не выполняется.
+     */
+    private void restartSequences(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sequence : SEQUENCES) {
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + SEQUENCE_START);
+            }
+            connection.commit();
+        }
+    }
+}
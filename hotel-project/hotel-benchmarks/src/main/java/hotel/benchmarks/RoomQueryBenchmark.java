@@ -0,0 +1,48 @@
+package hotel.benchmarks;
+
+import hotel.enums.RoomSortOption;
+import hotel.cache.RoomSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение номеров: отсортированные списки всех и свободных номеров
+ * и подсчёт свободных номеров.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomQueryBenchmark {
+
+    @Param({"BY_PRICE"})
+    private RoomSortOption sortOption;
+
+    @Benchmark
+    public List<RoomSnapshot> sortedRooms(HotelState state) {
+        return state.getRoomManager().getSortedRooms(sortOption);
+    }
+
+    @Benchmark
+    public List<RoomSnapshot> sortedFreeRooms(HotelState state) {
+        return state.getRoomManager().getFreeRooms(sortOption);
+    }
+
+    @Benchmark
+    public int countFreeRooms(HotelState state) {
+        return state.getRoomManager().countFreeRooms();
+    }
+}
@@ -0,0 +1,36 @@
+package hotel.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение истории проживания номера.
+ * Номера перебираются по кругу, история есть у номеров, заселённых при заполнении базы.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class StayHistoryBenchmark {
+
+    private int cursor;
+
+    @Benchmark
+    public List<String> roomHistory(HotelState state) {
+        int roomNumber = HotelState.FIRST_ROOM_NUMBER + cursor % state.getRooms();
+        cursor++;
+        return state.getRoomManager().getRoomHistory(roomNumber);
+    }
+}
@@ -0,0 +1,14 @@
+package hotel.loadtest;
+
+/**
+ * Закон поступления запросов в фазе сценария.
+ * Модель открытая: запросы отправляются по расписанию независимо от того,
+ * завершились ли предыдущие.
+ */
+public enum ArrivalProcess {
+
+    /** Запросы через равные интервалы. */
+    CONSTANT,
+    /** Пуассоновский поток: интервалы распределены экспоненциально. */
+    POISSON
+}
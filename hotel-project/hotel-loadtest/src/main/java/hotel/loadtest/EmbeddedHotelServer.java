@@ -0,0 +1,105 @@
+package hotel.loadtest;
+
+import hotel.config.WebAppInitializer;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.springframework.web.SpringServletContainerInitializer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Приложение во встроенном Tomcat.
+ * Контекст поднимается тем же {@link WebAppInitializer}, что и при развёртывании WAR.
+ * База задаётся адресом JDBC, для встроенной H2 в режиме совместимости с PostgreSQL
+ * адрес строит {@link #h2Url(String)}.
+ */
+final class EmbeddedHotelServer implements AutoCloseable {
+
+    private static final String H2_URL_FORMAT =
+            "jdbc:h2:mem:%s;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final int SEQUENCE_START = 1_000_000;
+    private static final List<String> SEQUENCES =
+            List.of("rooms_seq", "guests_seq", "services_seq", "stay_history_seq", "reservations_seq");
+
+    private final Tomcat tomcat = new Tomcat();
+    private final String dbUrl;
+    private final boolean virtualThreads;
+    private final int maxThreads;
+
+    /**
+     * @param dbUrl адрес JDBC базы приложения
+     * @param virtualThreads обрабатывать ли запросы в виртуальных потоках
+     * @param maxThreads размер пула потоков контейнера
+     */
+    EmbeddedHotelServer(String dbUrl, boolean virtualThreads, int maxThreads) {
+        this.dbUrl = dbUrl;
+        this.virtualThreads = virtualThreads;
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Возвращает адрес встроенной H2 в режиме совместимости с PostgreSQL.
+     * @param database имя базы в памяти
+     * @return адрес JDBC
+     */
+    static String h2Url(String database) {
+        return String.format(H2_URL_FORMAT, database);
+    }
+
+    /**
+     * Запускает приложение.
+     * @param port порт, 0 - любой свободный
+     * @return базовый адрес приложения
+     */
+    URI start(int port) throws IOException, LifecycleException, SQLException {
+        System.setProperty("db.url", dbUrl);
+        System.setProperty("db.user", System.getProperty("db.user", "sa"));
+        System.setProperty("db.password", System.getProperty("db.password", ""));
+        System.setProperty("db.show.sql", System.getProperty("db.show.sql", "false"));
+        System.setProperty("server.virtual.threads.enabled", String.valueOf(virtualThreads));
+
+        Path baseDir = Files.createTempDirectory("hotel-loadtest");
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(port);
+        tomcat.getConnector().setProperty("maxThreads", String.valueOf(maxThreads));
+
+        Context context = tomcat.addContext("", baseDir.toString());
+        context.addServletContainerInitializer(new SpringServletContainerInitializer(), Set.of(WebAppInitializer.class));
+        tomcat.start();
+
+        if (dbUrl.startsWith("jdbc:h2:")) {
+            restartSequences();
+        }
+        return URI.create("http://localhost:" + tomcat.getConnector().getLocalPort() + "/");
+    }
+
+    @Override
+    public void close() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    /**
+     * Сдвигает последовательности H2 за пределы идентификаторов тестовых данных:
+     * на PostgreSQL это делает миграция, на H2 она не выполняется.
+     */
+    private void restartSequences() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(dbUrl,
+                System.getProperty("db.user"), System.getProperty("db.password"));
+             Statement statement = connection.createStatement()) {
+            for (String sequence : SEQUENCES) {
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + SEQUENCE_START);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package hotel.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки и счётчики запросов одной конечной точки.
+ * Задержка считается в микросекундах от запланированного момента отправки
+ * до получения ответа, поэтому отставание генератора от расписания
+ * попадает в задержку, а не теряется.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String endpoint;
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histogram.recordValue(micros);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void skip() {
+        skipped.increment();
+    }
+
+    void drop() {
+        dropped.increment();
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    Histogram getHistogram() {
+        return histogram;
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getSkipped() {
+        return skipped.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,176 @@
+package hotel.loadtest;
+
+import hotel.dto.CheckInDto;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Состояние стойки регистрации, по которому строятся запросы сценария.
+ * Свободные гости и номера и текущие проживания хранятся в очередях:
+ * заселение забирает свободных гостя и номер и возвращает их при ошибке,
+ * выселение возвращает их в свободные после успешного ответа.
+ * Если для действия нет подходящих данных, запрос не строится.
+ */
+final class FrontDeskTraffic {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final JsonMapper jsonMapper;
+
+    private final Queue<Long> freeGuests = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> freeRooms = new ConcurrentLinkedQueue<>();
+    private final Queue<Stay> stays = new ConcurrentLinkedQueue<>();
+    private final List<Long> guestIds = new ArrayList<>();
+    private final List<String> guestNames = new ArrayList<>();
+    private final List<Integer> roomNumbers = new ArrayList<>();
+    private final List<String> serviceNames = new ArrayList<>();
+
+    FrontDeskTraffic(URI baseUri, JsonMapper jsonMapper) {
+        this.baseUri = baseUri;
+        this.jsonMapper = jsonMapper;
+    }
+
+    void addGuest(long guestId, String fullName, boolean checkedIn) {
+        guestIds.add(guestId);
+        guestNames.add(fullName);
+        if (!checkedIn) {
+            freeGuests.add(guestId);
+        }
+    }
+
+    void addRoom(int roomNumber, boolean occupied) {
+        roomNumbers.add(roomNumber);
+        if (!occupied) {
+            freeRooms.add(roomNumber);
+        }
+    }
+
+    void addStay(long guestId, int roomNumber) {
+        stays.add(new Stay(guestId, roomNumber));
+    }
+
+    void addService(String name) {
+        serviceNames.add(name);
+    }
+
+    /**
+     * Строит запрос для действия.
+     * @param action действие сценария
+     * @return запрос или null, если для действия нет данных
+     */
+    PlannedRequest prepare(LoadAction action) {
+        return switch (action) {
+            case CHECK_IN -> checkIn();
+            case CHECK_OUT -> checkOut();
+            case SORTED_GUESTS -> new PlannedRequest(get("/api/guests/sorted?option=BY_NAME&checkedIn=true&size=50"));
+            case GUEST_SERVICES -> guestIds.isEmpty() ? null
+                    : new PlannedRequest(get("/api/guests/" + random(guestIds) + "/services?option=BY_PRICE"));
+            case ADD_SERVICE_TO_GUEST -> guestNames.isEmpty() || serviceNames.isEmpty() ? null
+                    : new PlannedRequest(post("/api/guests/" + encode(random(guestNames))
+                            + "/services/" + encode(random(serviceNames)), HttpRequest.BodyPublishers.noBody()));
+            case FREE_ROOMS -> new PlannedRequest(get("/api/rooms/free?option=BY_PRICE&limit=50"));
+            case COUNT_FREE_ROOMS -> new PlannedRequest(get("/api/rooms/count/free"));
+            case ROOMS_PAGE -> new PlannedRequest(get("/api/rooms?option=BY_NUMBER&limit=50"));
+            case AVAILABLE_ROOMS -> availableRooms();
+            case ROOM_INFO -> roomNumbers.isEmpty() ? null
+                    : new PlannedRequest(get("/api/rooms/" + random(roomNumbers)));
+            case ROOM_HISTORY -> roomNumbers.isEmpty() ? null
+                    : new PlannedRequest(get("/api/rooms/" + random(roomNumbers) + "/history"));
+            case SERVICES -> new PlannedRequest(get("/api/services?option=BY_NAME"));
+        };
+    }
+
+    private PlannedRequest checkIn() {
+        Long guestId = freeGuests.poll();
+        if (guestId == null) {
+            return null;
+        }
+        Integer roomNumber = freeRooms.poll();
+        if (roomNumber == null) {
+            freeGuests.add(guestId);
+            return null;
+        }
+
+        LocalDate today = LocalDate.now();
+        CheckInDto dto = new CheckInDto();
+        dto.setGuestId(guestId);
+        dto.setRoomNumber(roomNumber);
+        dto.setCheckIn(today);
+        dto.setCheckOut(today.plusDays(1 + ThreadLocalRandom.current().nextInt(7)));
+        HttpRequest request = post("/api/guests/check-in",
+                HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(dto)));
+        return new PlannedRequest(request,
+                () -> stays.add(new Stay(guestId, roomNumber)),
+                () -> {
+                    freeGuests.add(guestId);
+                    freeRooms.add(roomNumber);
+                });
+    }
+
+    private PlannedRequest checkOut() {
+        Stay stay = stays.poll();
+        if (stay == null) {
+            return null;
+        }
+        HttpRequest request = post("/api/guests/" + stay.guestId + "/check-out",
+                HttpRequest.BodyPublishers.noBody());
+        return new PlannedRequest(request,
+                () -> {
+                    freeGuests.add(stay.guestId);
+                    freeRooms.add(stay.roomNumber);
+                },
+                () -> stays.add(stay));
+    }
+
+    private PlannedRequest availableRooms() {
+        LocalDate from = LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(30));
+        LocalDate to = from.plusDays(1 + ThreadLocalRandom.current().nextInt(7));
+        return new PlannedRequest(get("/api/rooms/available?from=" + from + "&to=" + to));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, HttpRequest.BodyPublisher body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(body)
+                .build();
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static final class Stay {
+
+        private final long guestId;
+        private final int roomNumber;
+
+        private Stay(long guestId, int roomNumber) {
+            this.guestId = guestId;
+            this.roomNumber = roomNumber;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package hotel.loadtest;
+
+import hotel.dto.BatchItemResultDto;
+import hotel.dto.CheckInDto;
+import hotel.dto.CreateGuestDto;
+import hotel.dto.CreateRoomDto;
+import hotel.dto.CreateServiceDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Заполняет базу через REST API перед запуском сценария
+ * и переносит созданные данные в состояние стойки регистрации.
+ * Номера создаются начиная с {@link #FIRST_ROOM_NUMBER},
+ * чтобы не пересекаться с тестовыми данными миграций.
+ */
+final class HotelSeeder {
+
+    static final int FIRST_ROOM_NUMBER = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(HotelSeeder.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final JsonMapper jsonMapper;
+
+    HotelSeeder(HttpClient httpClient, URI baseUri, JsonMapper jsonMapper) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Создаёт номера, гостей и услуги и заселяет часть гостей.
+     * @param seed объём данных
+     * @param traffic состояние стойки регистрации
+     */
+    void seed(SeedSpec seed, FrontDeskTraffic traffic) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+
+        List<CreateRoomDto> rooms = new ArrayList<>();
+        for (int i = 0; i < seed.getRooms(); i++) {
+            CreateRoomDto room = new CreateRoomDto();
+            room.setNumber(FIRST_ROOM_NUMBER + i);
+            room.setCapacity(1 + i % 4);
+            room.setPrice(1000 + (i * 37) % 9000);
+            room.setStars(1 + i % 5);
+            rooms.add(room);
+        }
+        for (int from = 0; from < rooms.size(); from += BATCH_SIZE) {
+            postBatch("/api/rooms/batch", rooms.subList(from, Math.min(rooms.size(), from + BATCH_SIZE)));
+        }
+
+        List<CreateGuestDto> guests = new ArrayList<>();
+        for (int i = 0; i < seed.getGuests(); i++) {
+            CreateGuestDto guest = new CreateGuestDto();
+            guest.setAge(18 + i % 60);
+            guest.setFirstName("Guest" + i);
+            guest.setSecondName("Load" + i);
+            guests.add(guest);
+        }
+        List<Long> guestIds = new ArrayList<>();
+        for (int from = 0; from < guests.size(); from += BATCH_SIZE) {
+            for (BatchItemResultDto result
+                    : postBatch("/api/guests/batch", guests.subList(from, Math.min(guests.size(), from + BATCH_SIZE)))) {
+                guestIds.add(result.getId());
+            }
+        }
+
+        for (int i = 0; i < seed.getServices(); i++) {
+            CreateServiceDto service = new CreateServiceDto();
+            service.setName("LoadService" + i);
+            service.setDescription("Услуга нагрузочного теста");
+            service.setPrice(100 + i * 50);
+            send("/api/services", service);
+            traffic.addService(service.getName());
+        }
+
+        int occupied = Math.min((int) (seed.getRooms() * seed.getOccupancy()), guestIds.size());
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < occupied; i++) {
+            CheckInDto checkIn = new CheckInDto();
+            checkIn.setGuestId(guestIds.get(i));
+            checkIn.setRoomNumber(FIRST_ROOM_NUMBER + i);
+            checkIn.setCheckIn(today);
+            checkIn.setCheckOut(today.plusDays(1 + i % 14));
+            send("/api/guests/check-in", checkIn);
+            traffic.addStay(guestIds.get(i), FIRST_ROOM_NUMBER + i);
+        }
+
+        for (int i = 0; i < seed.getRooms(); i++) {
+            traffic.addRoom(FIRST_ROOM_NUMBER + i, i < occupied);
+        }
+        for (int i = 0; i < guestIds.size(); i++) {
+            traffic.addGuest(guestIds.get(i), guests.get(i).getFirstName() + " " + guests.get(i).getSecondName(),
+                    i < occupied);
+        }
+
+        log.info("База заполнена за {} мс: номеров {}, гостей {}, услуг {}, заселено {}",
+                (System.nanoTime() - start) / 1_000_000, seed.getRooms(), guestIds.size(), seed.getServices(), occupied);
+    }
+
+    private List<BatchItemResultDto> postBatch(String path, List<?> items) throws IOException, InterruptedException {
+        String body = send(path, items);
+        return jsonMapper.readValue(body, new TypeReference<List<BatchItemResultDto>>() { });
+    }
+
+    private String send(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Ошибка заполнения базы: POST " + path + " вернул "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,96 @@
+package hotel.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Отчёт о задержках по конечным точкам.
+ * Сводная таблица выводится в консоль, полные распределения задержек
+ * сохраняются в файлы .hgrm (в миллисекундах), которые можно построить
+ * в HdrHistogram Plotter.
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String ROW_FORMAT = "%-58s %8s %7s %7s %7s %9s %9s %9s %9s %9s%n";
+
+    private final Map<LoadAction, EndpointStats> stats;
+    private final long elapsedNanos;
+
+    LatencyReport(Map<LoadAction, EndpointStats> stats, long elapsedNanos) {
+        this.stats = stats;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void print(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf(ROW_FORMAT, "Endpoint", "Count", "Errors", "Skipped", "Dropped",
+                "Rate/s", "p50 ms", "p99 ms", "p99.9 ms", "Max ms");
+        for (EndpointStats endpointStats : stats.values()) {
+            Histogram histogram = endpointStats.getHistogram();
+            out.printf(ROW_FORMAT, endpointStats.getEndpoint(),
+                    histogram.getTotalCount(),
+                    endpointStats.getErrors(),
+                    endpointStats.getSkipped(),
+                    endpointStats.getDropped(),
+                    String.format("%.1f", histogram.getTotalCount() / seconds),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    /**
+     * Выводит сравнение двух прогонов одного сценария: успешные ответы в секунду
+     * и 99-й перцентиль задержки по каждой конечной точке.
+     */
+    static void printComparison(PrintStream out, String firstName, LatencyReport first,
+                                String secondName, LatencyReport second) {
+        String format = "%-58s %12s %12s %12s %12s%n";
+        out.printf(format, "Endpoint", firstName + " ok/s", secondName + " ok/s",
+                firstName + " p99", secondName + " p99");
+        for (Map.Entry<LoadAction, EndpointStats> entry : first.stats.entrySet()) {
+            EndpointStats other = second.stats.get(entry.getKey());
+            if (other == null) {
+                continue;
+            }
+            out.printf(format, entry.getValue().getEndpoint(),
+                    String.format("%.1f", first.successRate(entry.getValue())),
+                    String.format("%.1f", second.successRate(other)),
+                    millis(entry.getValue().getHistogram().getValueAtPercentile(99)),
+                    millis(other.getHistogram().getValueAtPercentile(99)));
+        }
+        out.printf(format, "Total",
+                String.format("%.1f", first.stats.values().stream().mapToDouble(first::successRate).sum()),
+                String.format("%.1f", second.stats.values().stream().mapToDouble(second::successRate).sum()),
+                "", "");
+    }
+
+    /**
+     * Сохраняет распределения задержек каждой конечной точки в каталог.
+     * @param directory каталог отчёта
+     */
+    void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<LoadAction, EndpointStats> entry : stats.entrySet()) {
+            Path file = directory.resolve(entry.getKey().name() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                entry.getValue().getHistogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private double successRate(EndpointStats endpointStats) {
+        return (endpointStats.getHistogram().getTotalCount() - endpointStats.getErrors()) / (elapsedNanos / 1e9);
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / MICROS_PER_MILLI);
+    }
+}
@@ -0,0 +1,32 @@
+package hotel.loadtest;
+
+/**
+ * Действия, из которых составляется смесь запросов фазы сценария.
+ * Каждое действие соответствует одной конечной точке REST API,
+ * шаблон которой используется как имя строки отчёта.
+ */
+public enum LoadAction {
+
+    CHECK_IN("POST /api/guests/check-in"),
+    CHECK_OUT("POST /api/guests/{guestId}/check-out"),
+    SORTED_GUESTS("GET /api/guests/sorted"),
+    GUEST_SERVICES("GET /api/guests/{guestId}/services"),
+    ADD_SERVICE_TO_GUEST("POST /api/guests/{guestFullName}/services/{serviceName}"),
+    FREE_ROOMS("GET /api/rooms/free"),
+    COUNT_FREE_ROOMS("GET /api/rooms/count/free"),
+    ROOMS_PAGE("GET /api/rooms"),
+    AVAILABLE_ROOMS("GET /api/rooms/available"),
+    ROOM_INFO("GET /api/rooms/{roomNumber}"),
+    ROOM_HISTORY("GET /api/rooms/{roomNumber}/history"),
+    SERVICES("GET /api/services");
+
+    private final String endpoint;
+
+    LoadAction(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,139 @@
+package hotel.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Нагрузочный тест REST API по сценарию.
+ * Запуск: java -jar hotel-loadtest/target/loadtest.jar [сценарий] [параметры].
+ * Сценарий - путь к JSON-файлу или имя сценария из scenarios/ на classpath,
+ * по умолчанию front-desk-day. Параметры:
+ * --base-url URL - нагружать уже запущенное приложение вместо встроенного Tomcat;
+ * --port N - порт встроенного Tomcat;
+ * --max-threads N - размер пула потоков встроенного Tomcat;
+ * --virtual-threads - обрабатывать запросы во встроенном Tomcat в виртуальных потоках;
+ * --compare-thread-modes - выполнить сценарий на платформенных и на виртуальных потоках,
+ * каждый раз на новом приложении и новой базе H2, и сравнить результаты;
+ * --report-dir DIR - каталог для файлов .hgrm.
+ * Без db.url встроенное приложение использует H2 в памяти.
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final String DEFAULT_SCENARIO = "front-desk-day";
+    private static final int DEFAULT_MAX_THREADS = 200;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String scenarioName = DEFAULT_SCENARIO;
+        String baseUrl = null;
+        int port = 0;
+        int maxThreads = DEFAULT_MAX_THREADS;
+        boolean virtualThreads = false;
+        boolean compareThreadModes = false;
+        Path reportDir = Path.of("loadtest-report");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUrl = args[++i];
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--max-threads" -> maxThreads = Integer.parseInt(args[++i]);
+                case "--virtual-threads" -> virtualThreads = true;
+                case "--compare-thread-modes" -> compareThreadModes = true;
+                case "--report-dir" -> reportDir = Path.of(args[++i]);
+                default -> scenarioName = args[i];
+            }
+        }
+
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        Scenario scenario = loadScenario(jsonMapper, scenarioName);
+        scenario.validate();
+
+        if (baseUrl != null) {
+            URI baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+            run(scenario, jsonMapper, baseUri, reportDir).print(System.out);
+            return;
+        }
+        if (!compareThreadModes) {
+            String dbUrl = System.getProperty("db.url", EmbeddedHotelServer.h2Url("hotel_load"));
+            runEmbedded(scenario, jsonMapper, new EmbeddedHotelServer(dbUrl, virtualThreads, maxThreads), port, reportDir)
+                    .print(System.out);
+            return;
+        }
+        if (System.getProperty("db.url") != null) {
+            throw new IllegalArgumentException("Сравнение режимов потоков выполняется только на встроенной H2");
+        }
+
+        LatencyReport platform = runEmbedded(scenario, jsonMapper,
+                new EmbeddedHotelServer(EmbeddedHotelServer.h2Url("hotel_load_platform"), false, maxThreads),
+                port, reportDir.resolve("platform"));
+        LatencyReport virtual = runEmbedded(scenario, jsonMapper,
+                new EmbeddedHotelServer(EmbeddedHotelServer.h2Url("hotel_load_virtual"), true, maxThreads),
+                port, reportDir.resolve("virtual"));
+
+        System.out.println("Platform threads (maxThreads=" + maxThreads + "):");
+        platform.print(System.out);
+        System.out.println();
+        System.out.println("Virtual threads:");
+        virtual.print(System.out);
+        System.out.println();
+        LatencyReport.printComparison(System.out, "platform", platform, "virtual", virtual);
+    }
+
+    private static LatencyReport runEmbedded(Scenario scenario, JsonMapper jsonMapper, EmbeddedHotelServer server,
+                                             int port, Path reportDir) throws Exception {
+        try (server) {
+            URI baseUri = server.start(port);
+            log.info("Приложение запущено: {}", baseUri);
+            return run(scenario, jsonMapper, baseUri, reportDir);
+        }
+    }
+
+    private static LatencyReport run(Scenario scenario, JsonMapper jsonMapper, URI baseUri, Path reportDir)
+            throws IOException, InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            FrontDeskTraffic traffic = new FrontDeskTraffic(baseUri, jsonMapper);
+            new HotelSeeder(httpClient, baseUri, jsonMapper).seed(scenario.getSeed(), traffic);
+
+            log.info("Запуск сценария {}", scenario.getName());
+            ScenarioRunner runner = new ScenarioRunner(httpClient, traffic);
+            Map<LoadAction, EndpointStats> stats = runner.run(scenario);
+            LatencyReport report = new LatencyReport(stats, runner.getMeasuredNanos());
+            report.writeHistograms(reportDir);
+            log.info("Распределения задержек сохранены в {}", reportDir.toAbsolutePath());
+            return report;
+        }
+    }
+
+    private static Scenario loadScenario(JsonMapper jsonMapper, String name) throws IOException {
+        Path file = Path.of(name);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                return jsonMapper.readValue(in, Scenario.class);
+            }
+        }
+        try (InputStream in = LoadTest.class.getResourceAsStream("/scenarios/" + name + ".json")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Сценарий не найден: " + name);
+            }
+            return jsonMapper.readValue(in, Scenario.class);
+        }
+    }
+}
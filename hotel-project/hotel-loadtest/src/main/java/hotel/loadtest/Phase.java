@@ -0,0 +1,90 @@
+package hotel.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Фаза сценария: в течение durationSeconds запросы поступают с интенсивностью
+ * arrivalRate запросов в секунду. Если задан targetArrivalRate, интенсивность
+ * линейно меняется от arrivalRate до targetArrivalRate к концу фазы.
+ * Действие для каждого запроса выбирается случайно пропорционально весам mix.
+ * Запросы фазы с warmup=true выполняются, но не попадают в отчёт.
+ */
+public class Phase {
+
+    private String name;
+    private int durationSeconds;
+    private double arrivalRate;
+    private Double targetArrivalRate;
+    private ArrivalProcess arrivals = ArrivalProcess.POISSON;
+    private boolean warmup;
+    private Map<LoadAction, Integer> mix = new EnumMap<>(LoadAction.class);
+
+    /**
+     * Возвращает интенсивность поступления запросов в заданный момент фазы.
+     * @param progress доля прошедшего времени фазы, от 0 до 1
+     * @return запросов в секунду
+     */
+    public double rateAt(double progress) {
+        if (targetArrivalRate == null) {
+            return arrivalRate;
+        }
+        return arrivalRate + (targetArrivalRate - arrivalRate) * progress;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    public void setArrivalRate(double arrivalRate) {
+        this.arrivalRate = arrivalRate;
+    }
+
+    public Double getTargetArrivalRate() {
+        return targetArrivalRate;
+    }
+
+    public void setTargetArrivalRate(Double targetArrivalRate) {
+        this.targetArrivalRate = targetArrivalRate;
+    }
+
+    public ArrivalProcess getArrivals() {
+        return arrivals;
+    }
+
+    public void setArrivals(ArrivalProcess arrivals) {
+        this.arrivals = arrivals;
+    }
+
+    public boolean isWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(boolean warmup) {
+        this.warmup = warmup;
+    }
+
+    public Map<LoadAction, Integer> getMix() {
+        return mix;
+    }
+
+    public void setMix(Map<LoadAction, Integer> mix) {
+        this.mix = mix;
+    }
+}
@@ -0,0 +1,38 @@
+package hotel.loadtest;
+
+import java.net.http.HttpRequest;
+
+/**
+ * Подготовленный запрос и действия над состоянием стойки регистрации,
+ * выполняемые после успешного или неуспешного ответа.
+ */
+final class PlannedRequest {
+
+    private static final Runnable NOTHING = () -> { };
+
+    private final HttpRequest request;
+    private final Runnable onSuccess;
+    private final Runnable onFailure;
+
+    PlannedRequest(HttpRequest request) {
+        this(request, NOTHING, NOTHING);
+    }
+
+    PlannedRequest(HttpRequest request, Runnable onSuccess, Runnable onFailure) {
+        this.request = request;
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure;
+    }
+
+    HttpRequest getRequest() {
+        return request;
+    }
+
+    void complete(boolean success) {
+        if (success) {
+            onSuccess.run();
+        } else {
+            onFailure.run();
+        }
+    }
+}
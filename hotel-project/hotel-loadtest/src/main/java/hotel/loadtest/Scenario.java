@@ -0,0 +1,76 @@
+package hotel.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сценарий нагрузки: заполнение базы и последовательность фаз.
+ * Описывается в JSON, пример - scenarios/front-desk-day.json.
+ * maxInFlight ограничивает число одновременно выполняемых запросов:
+ * запросы сверх лимита не отправляются и учитываются в отчёте как отброшенные.
+ */
+public class Scenario {
+
+    private String name;
+    private SeedSpec seed = new SeedSpec();
+    private int maxInFlight = 2000;
+    private List<Phase> phases = new ArrayList<>();
+
+    /**
+     * Проверяет корректность сценария.
+     * @throws IllegalArgumentException если сценарий некорректен
+     */
+    public void validate() {
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("Сценарий " + name + " не содержит фаз");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight должен быть положительным");
+        }
+        for (Phase phase : phases) {
+            if (phase.getDurationSeconds() <= 0) {
+                throw new IllegalArgumentException("Длительность фазы " + phase.getName() + " должна быть положительной");
+            }
+            if (phase.getArrivalRate() <= 0
+                    || (phase.getTargetArrivalRate() != null && phase.getTargetArrivalRate() <= 0)) {
+                throw new IllegalArgumentException("Интенсивность фазы " + phase.getName() + " должна быть положительной");
+            }
+            if (phase.getMix().isEmpty() || phase.getMix().values().stream().anyMatch(weight -> weight <= 0)) {
+                throw new IllegalArgumentException("Смесь запросов фазы " + phase.getName()
+                        + " должна содержать действия с положительными весами");
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public SeedSpec getSeed() {
+        return seed;
+    }
+
+    public void setSeed(SeedSpec seed) {
+        this.seed = seed;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(List<Phase> phases) {
+        this.phases = phases;
+    }
+}
@@ -0,0 +1,178 @@
+package hotel.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Выполняет фазы сценария по открытой модели.
+ * Моменты отправки запросов рассчитываются заранее по интенсивности фазы,
+ * запросы отправляются асинхронно и не ожидают завершения предыдущих.
+ */
+final class ScenarioRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScenarioRunner.class);
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final HttpClient httpClient;
+    private final FrontDeskTraffic traffic;
+    private final Map<LoadAction, EndpointStats> stats = createStats();
+    private final Map<LoadAction, EndpointStats> warmupStats = createStats();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private long measuredNanos;
+
+    ScenarioRunner(HttpClient httpClient, FrontDeskTraffic traffic) {
+        this.httpClient = httpClient;
+        this.traffic = traffic;
+    }
+
+    /**
+     * Выполняет все фазы сценария и ожидает завершения отправленных запросов.
+     * @param scenario сценарий
+     * @return статистика по конечным точкам, к которым были запросы
+     */
+    Map<LoadAction, EndpointStats> run(Scenario scenario) {
+        for (Phase phase : scenario.getPhases()) {
+            log.info("Фаза {}: {} с, {} -> {} запросов/с", phase.getName(), phase.getDurationSeconds(),
+                    phase.getArrivalRate(), phase.rateAt(1));
+            long start = System.nanoTime();
+            runPhase(phase, scenario.getMaxInFlight());
+            if (!phase.isWarmup()) {
+                measuredNanos += System.nanoTime() - start;
+            }
+        }
+        awaitInFlight();
+
+        Map<LoadAction, EndpointStats> used = new EnumMap<>(LoadAction.class);
+        stats.forEach((action, endpointStats) -> {
+            if (endpointStats.getHistogram().getTotalCount() > 0
+                    || endpointStats.getSkipped() > 0 || endpointStats.getDropped() > 0) {
+                used.put(action, endpointStats);
+            }
+        });
+        return used;
+    }
+
+    /**
+     * Суммарная длительность фаз, попавших в отчёт.
+     * @return длительность в наносекундах
+     */
+    long getMeasuredNanos() {
+        return measuredNanos;
+    }
+
+    private void runPhase(Phase phase, int maxInFlight) {
+        Map<LoadAction, EndpointStats> phaseStats = phase.isWarmup() ? warmupStats : stats;
+        WeightedMix mix = new WeightedMix(phase.getMix());
+        long durationNanos = TimeUnit.SECONDS.toNanos(phase.getDurationSeconds());
+        long start = System.nanoTime();
+        long intended = start;
+        while (true) {
+            double rate = phase.rateAt((intended - start) / (double) durationNanos);
+            intended += nextInterval(phase.getArrivals(), rate);
+            if (intended - start >= durationNanos) {
+                return;
+            }
+            parkUntil(intended);
+            LoadAction action = mix.next();
+            dispatch(action, phaseStats.get(action), intended, maxInFlight);
+        }
+    }
+
+    private void dispatch(LoadAction action, EndpointStats endpointStats, long intended, int maxInFlight) {
+        if (inFlight.get() >= maxInFlight) {
+            endpointStats.drop();
+            return;
+        }
+        PlannedRequest planned = traffic.prepare(action);
+        if (planned == null) {
+            endpointStats.skip();
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        httpClient.sendAsync(planned.getRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    boolean success = error == null && response.statusCode() / 100 == 2;
+                    endpointStats.record(System.nanoTime() - intended, success);
+                    planned.complete(success);
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            log.warn("Не дождались завершения запросов: {}", inFlight.get());
+        }
+    }
+
+    private static Map<LoadAction, EndpointStats> createStats() {
+        Map<LoadAction, EndpointStats> stats = new EnumMap<>(LoadAction.class);
+        for (LoadAction action : LoadAction.values()) {
+            stats.put(action, new EndpointStats(action.getEndpoint()));
+        }
+        return stats;
+    }
+
+    private static long nextInterval(ArrivalProcess arrivals, double rate) {
+        double meanNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        if (arrivals == ArrivalProcess.CONSTANT) {
+            return (long) meanNanos;
+        }
+        return (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanNanos);
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * Случайный выбор действия пропорционально весам.
+     */
+    private static final class WeightedMix {
+
+        private final List<LoadAction> actions = new ArrayList<>();
+        private final int[] cumulativeWeights;
+        private final int totalWeight;
+
+        private WeightedMix(Map<LoadAction, Integer> weights) {
+            cumulativeWeights = new int[weights.size()];
+            int total = 0;
+            for (Map.Entry<LoadAction, Integer> entry : weights.entrySet()) {
+                total += entry.getValue();
+                cumulativeWeights[actions.size()] = total;
+                actions.add(entry.getKey());
+            }
+            totalWeight = total;
+        }
+
+        private LoadAction next() {
+            int point = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (point < cumulativeWeights[i]) {
+                    return actions.get(i);
+                }
+            }
+            return actions.get(actions.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package hotel.loadtest;
+
+/**
+ * Объём данных, которыми заполняется база перед запуском сценария.
+ * occupancy - доля номеров, в которые заранее заселено по одному гостю.
+ */
+public class SeedSpec {
+
+    private int rooms = 500;
+    private int guests = 3000;
+    private int services = 20;
+    private double occupancy = 0.3;
+
+    public int getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(int rooms) {
+        this.rooms = rooms;
+    }
+
+    public int getGuests() {
+        return guests;
+    }
+
+    public void setGuests(int guests) {
+        this.guests = guests;
+    }
+
+    public int getServices() {
+        return services;
+    }
+
+    public void setServices(int services) {
+        this.services = services;
+    }
+
+    public double getOccupancy() {
+        return occupancy;
+    }
+
+    public void setOccupancy(double occupancy) {
+        this.occupancy = occupancy;
+    }
+}
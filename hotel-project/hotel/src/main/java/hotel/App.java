@@ -1,16 +1,24 @@
 package hotel;
 
 import hotel.db.EntityManagerFactoryProvider;
+import hotel.metrics.HttpMetricsInterceptor;
+import hotel.metrics.SqlStatsInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.json.JsonMapper;
 
 
 /**
@@ -18,12 +26,26 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * Сканирует и инициализирует все компоненты системы.
  */
 @EnableTransactionManagement
+@EnableAspectJAutoProxy(proxyTargetClass = true)
+@EnableAsync
 @EnableWebMvc
 @Configuration
 @ComponentScan
 @PropertySource("classpath:application.properties")
 public class App implements WebMvcConfigurer {
 
+    private final HttpMetricsInterceptor httpMetricsInterceptor;
+    private final SqlStatsInterceptor sqlStatsInterceptor;
+    private final AsyncTaskExecutor taskExecutor;
+
+    public App(HttpMetricsInterceptor httpMetricsInterceptor,
+               SqlStatsInterceptor sqlStatsInterceptor,
+               AsyncTaskExecutor taskExecutor) {
+        this.httpMetricsInterceptor = httpMetricsInterceptor;
+        this.sqlStatsInterceptor = sqlStatsInterceptor;
+        this.taskExecutor = taskExecutor;
+    }
+
     @Bean
     public static PropertySourcesPlaceholderConfigurer propertyConfigurer() {
         return new PropertySourcesPlaceholderConfigurer();
@@ -33,5 +55,20 @@ public class App implements WebMvcConfigurer {
     public PlatformTransactionManager transactionManager(EntityManagerFactoryProvider emfProvider) {
         return new JpaTransactionManager(emfProvider.getEntityManagerFactory());
     }
-}
 
+    @Bean
+    public JsonMapper jsonMapper() {
+        return JsonMapper.builder().build();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(httpMetricsInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(sqlStatsInterceptor).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(taskExecutor);
+    }
+}
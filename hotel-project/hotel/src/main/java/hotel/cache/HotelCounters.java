@@ -0,0 +1,349 @@
+package hotel.cache;
+
+import hotel.config.CounterConfigurationService;
+import hotel.db.interfaces.GuestRepository;
+import hotel.db.interfaces.RoomRepository;
+import hotel.dto.HotelCountersDto;
+import hotel.enums.RoomStatus;
+import hotel.events.GuestCountChangedEvent;
+import hotel.events.RoomChangedEvent;
+import hotel.events.RoomsAddedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Счётчики номеров по состояниям и количества гостей.
+ * Значения загружаются из БД при первом обращении, затем обновляются
+ * после фиксации транзакций, изменивших номера или гостей, и периодически,
+ * раз в counters.reconcile.interval.ms, сверяются с БД. Найденные при сверке
+ * расхождения исправляются и учитываются в счётчике hotel.counters.drift.
+ * Для вычисления изменений хранится последнее известное состояние каждого номера,
+ * поэтому повторное применение события номера счётчики не меняет.
+ * БД читается без блокировки: если за время чтения пришли события, результат
+ * сверки может быть старше счётчиков и отбрасывается до следующей попытки.
+ * Изменение количества гостей не идемпотентно, поэтому оно отмечается ещё
+ * до фиксации транзакции: сверка, заставшая транзакцию между фиксацией
+ * и применением события, тоже отбрасывается, иначе гость, уже видимый в БД,
+ * был бы учтён повторно.
+ */
+@Component
+public class HotelCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelCounters.class);
+
+    private static final String ROOMS = "hotel.rooms";
+    private static final String GUESTS = "hotel.guests";
+    private static final String DRIFT = "hotel.counters.drift";
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private final RoomRepository roomRepository;
+    private final GuestRepository guestRepository;
+    private final CounterConfigurationService counterConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter driftCounter;
+
+    private final Map<RoomStatus, LongAdder> rooms = new EnumMap<>(RoomStatus.class);
+    private final ConcurrentMap<Integer, RoomStatus> roomStatuses = new ConcurrentHashMap<>();
+    private final LongAdder guests = new LongAdder();
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicInteger guestChangesInFlight = new AtomicInteger();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile boolean loaded;
+    private volatile LocalDateTime reconciledAt;
+    private ScheduledExecutorService reconciler;
+
+    public HotelCounters(RoomRepository roomRepository,
+                         GuestRepository guestRepository,
+                         CounterConfigurationService counterConfig,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.roomRepository = roomRepository;
+        this.guestRepository = guestRepository;
+        this.counterConfig = counterConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.driftCounter = meterRegistry.counter(DRIFT);
+        for (RoomStatus status : RoomStatus.values()) {
+            LongAdder adder = new LongAdder();
+            rooms.put(status, adder);
+            Gauge.builder(ROOMS, adder, LongAdder::sum)
+                    .description("Количество номеров по состояниям")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder(GUESTS, guests, LongAdder::sum)
+                .description("Количество зарегистрированных гостей")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Запускает периодическую сверку счётчиков с БД.
+     */
+    @PostConstruct
+    public void start() {
+        long interval = counterConfig.getReconcileIntervalMs();
+        if (interval <= 0) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "hotel-counters-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Сверка счётчиков с БД запущена, интервал: {} мс", interval);
+    }
+
+    /**
+     * Останавливает периодическую сверку.
+     */
+    @PreDestroy
+    public void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    /**
+     * Возвращает количество номеров в указанном состоянии.
+     * @param status состояние номера
+     * @return количество номеров
+     */
+    public long countRooms(RoomStatus status) {
+        ensureLoaded();
+        return rooms.get(status).sum();
+    }
+
+    /**
+     * Возвращает количество зарегистрированных гостей.
+     * @return количество гостей
+     */
+    public long countGuests() {
+        ensureLoaded();
+        return guests.sum();
+    }
+
+    /**
+     * Возвращает все счётчики одним снимком.
+     * @return значения счётчиков и время последней сверки
+     */
+    public HotelCountersDto getCounters() {
+        ensureLoaded();
+        HotelCountersDto dto = new HotelCountersDto();
+        dto.setFreeRooms(rooms.get(RoomStatus.FREE).sum());
+        dto.setOccupiedRooms(rooms.get(RoomStatus.OCCUPIED).sum());
+        dto.setMaintenanceRooms(rooms.get(RoomStatus.MAINTENANCE).sum());
+        dto.setTotalRooms(dto.getFreeRooms() + dto.getOccupiedRooms() + dto.getMaintenanceRooms());
+        dto.setGuests(guests.sum());
+        dto.setReconciledAt(reconciledAt);
+        return dto;
+    }
+
+    /**
+     * Сверяет счётчики с БД и исправляет расхождения.
+     * Если за время чтения из БД были применены события или есть транзакции,
+     * изменившие количество гостей и ещё не применившие его, результат отбрасывается.
+     * @return true, если счётчики сверены
+     */
+    public boolean reconcile() {
+        return reconcile(false);
+    }
+
+    private boolean reconcile(boolean force) {
+        long seen = changes.get();
+        List<RoomSnapshot> snapshots = transactionTemplate.execute(status -> roomRepository.findAllSnapshots());
+        Integer guestCount = transactionTemplate.execute(status -> guestRepository.count());
+
+        Map<Integer, RoomStatus> statuses = new HashMap<>();
+        Map<RoomStatus, Long> expected = new EnumMap<>(RoomStatus.class);
+        for (RoomStatus status : RoomStatus.values()) {
+            expected.put(status, 0L);
+        }
+        for (RoomSnapshot room : snapshots) {
+            RoomStatus status = statusOf(room);
+            statuses.put(room.getNumber(), status);
+            expected.merge(status, 1L, Long::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if ((changes.get() != seen || guestChangesInFlight.get() > 0) && !force) {
+                log.debug("Сверка счётчиков отложена: во время чтения из БД пришли изменения");
+                return false;
+            }
+            roomStatuses.clear();
+            roomStatuses.putAll(statuses);
+            for (RoomStatus status : RoomStatus.values()) {
+                correct(rooms.get(status), expected.get(status), status.name());
+            }
+            correct(guests, guestCount, "GUESTS");
+            reconciledAt = LocalDateTime.now();
+            loaded = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Учитывает новое состояние номера после фиксации транзакции.
+     * @param event событие изменения номера
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        applyRooms(List.of(event.getRoom()));
+    }
+
+    /**
+     * Учитывает пакет добавленных номеров после фиксации транзакции.
+     * @param event событие пакетного добавления номеров
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomsAdded(RoomsAddedEvent event) {
+        applyRooms(event.getRooms());
+    }
+
+    /**
+     * Учитывает изменение количества гостей после фиксации транзакции.
+     * Событие обрабатывается в опубликовавшей его транзакции: перед фиксацией
+     * изменение отмечается как незавершённое, после фиксации применяется
+     * к счётчику, по завершении транзакции отметка снимается.
+     * Вне транзакции изменение применяется сразу.
+     * @param event событие изменения количества гостей
+     */
+    @EventListener
+    public void onGuestCountChanged(GuestCountChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyGuests(event.getDelta());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean inFlight;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                guestChangesInFlight.incrementAndGet();
+                changes.incrementAndGet();
+                inFlight = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                applyGuests(event.getDelta());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (inFlight) {
+                    guestChangesInFlight.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void applyGuests(int delta) {
+        lock.readLock().lock();
+        try {
+            changes.incrementAndGet();
+            if (loaded) {
+                guests.add(delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyRooms(List<RoomSnapshot> changed) {
+        lock.readLock().lock();
+        try {
+            changes.incrementAndGet();
+            if (!loaded) {
+                return;
+            }
+            for (RoomSnapshot room : changed) {
+                RoomStatus status = statusOf(room);
+                RoomStatus previous = roomStatuses.put(room.getNumber(), status);
+                if (previous != status) {
+                    if (previous != null) {
+                        rooms.get(previous).decrement();
+                    }
+                    rooms.get(status).increment();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            for (int attempt = 1; !loaded && attempt <= LOAD_ATTEMPTS; attempt++) {
+                reconcile(attempt == LOAD_ATTEMPTS);
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void correct(LongAdder adder, long expected, String name) {
+        long drift = expected - adder.sum();
+        if (drift == 0) {
+            return;
+        }
+        adder.add(drift);
+        if (loaded) {
+            driftCounter.increment();
+            log.warn("Счётчик {} расходился с БД на {}, исправлен", name, drift);
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Ошибка при сверке счётчиков с БД", e);
+        }
+    }
+
+    private RoomStatus statusOf(RoomSnapshot room) {
+        if (room.isUnderMaintenance()) {
+            return RoomStatus.MAINTENANCE;
+        }
+        return room.isOccupied() ? RoomStatus.OCCUPIED : RoomStatus.FREE;
+    }
+}
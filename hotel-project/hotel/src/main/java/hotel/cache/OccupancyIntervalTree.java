@@ -0,0 +1,194 @@
+package hotel.cache;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Дерево интервалов занятости номеров.
+ * Сбалансированное (AVL) дерево поиска, упорядоченное по началу интервала
+ * и номеру комнаты, в каждом узле которого хранится максимальный конец
+ * интервала в поддереве. Поиск пересечений с диапазоном выполняется
+ * за O(log n + k), где k - число найденных интервалов.
+ * Интервалы полуоткрытые: [start, end), границы задаются в днях эпохи.
+ * Класс не потокобезопасен, синхронизация выполняется вызывающей стороной.
+ */
+final class OccupancyIntervalTree {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Добавляет интервал занятости номера.
+     * @param start начало интервала (включительно)
+     * @param end конец интервала (не включительно)
+     * @param roomNumber номер комнаты
+     */
+    void insert(long start, long end, int roomNumber) {
+        root = insert(root, new Node(start, end, roomNumber));
+        size++;
+    }
+
+    /**
+     * Удаляет интервал занятости номера.
+     * @param start начало интервала
+     * @param roomNumber номер комнаты
+     */
+    void remove(long start, int roomNumber) {
+        int before = size;
+        root = remove(root, start, roomNumber);
+        if (size == before) {
+            throw new IllegalStateException("Интервал комнаты " + roomNumber + " отсутствует в индексе");
+        }
+    }
+
+    /**
+     * Передаёт в обработчик номера комнат, интервалы которых пересекаются с [from, to).
+     * Пустой диапазон (from >= to) ни с чем не пересекается.
+     * @param from начало диапазона (включительно)
+     * @param to конец диапазона (не включительно)
+     * @param consumer обработчик номеров комнат
+     */
+    void forEachOverlapping(long from, long to, IntConsumer consumer) {
+        if (from >= to) {
+            return;
+        }
+        forEachOverlapping(root, from, to, consumer);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static void forEachOverlapping(Node node, long from, long to, IntConsumer consumer) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        forEachOverlapping(node.left, from, to, consumer);
+        if (node.start < to) {
+            if (node.end > from) {
+                consumer.accept(node.roomNumber);
+            }
+            forEachOverlapping(node.right, from, to, consumer);
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.roomNumber, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, long start, int roomNumber) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, roomNumber, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, roomNumber);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, roomNumber);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int compare(long start, int roomNumber, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Integer.compare(roomNumber, node.roomNumber);
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+
+    private static final class Node {
+
+        private final long start;
+        private final long end;
+        private final int roomNumber;
+        private long maxEnd;
+        private int height;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, int roomNumber) {
+            this.start = start;
+            this.end = end;
+            this.roomNumber = roomNumber;
+            this.maxEnd = end;
+            this.height = 1;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package hotel.cache;
+
+import hotel.config.RoomConfigurationService;
+import hotel.db.interfaces.ReservationRepository;
+import hotel.model.Reservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Календарь бронирований номеров.
+ * Для каждого номера хранит битовую карту забронированных ночей:
+ * бит i соответствует ночи baseDay + i. Проверка пересечения и бронирование
+ * периода выполняются пословными операциями над массивом long без обращения к БД.
+ * Календарь строится из БД при первом обращении и перестраивается, когда начало
+ * карты отстаёт от текущей даты на {@link #REFRESH_AFTER_DAYS} дней: перестройку
+ * выполняет один поток, остальные продолжают работать со старой картой, которой
+ * хватает ещё на столько же дней. Ожидают перестройку только первое обращение
+ * и обращение к устаревшей на {@link #REBASE_PERIOD_DAYS} дней карте.
+ * БД читается без блокировки карты. Бронирования, транзакции которых ещё
+ * не завершены, и изменения, сделанные во время чтения, переносятся в новую карту,
+ * поэтому перестройка не теряет ночи, ещё не видимые в БД.
+ */
+@Component
+public class ReservationCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationCalendar.class);
+
+    private static final int REBASE_PERIOD_DAYS = 6 * Long.SIZE;
+    private static final int REFRESH_AFTER_DAYS = REBASE_PERIOD_DAYS / 2;
+
+    private final ReservationRepository reservationRepository;
+    private final RoomConfigurationService roomConfig;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Map<Integer, long[]> bookedNights = new HashMap<>();
+    private final List<Booking> pending = new ArrayList<>();
+
+    private List<Booking> changesDuringLoad;
+    private volatile boolean loaded;
+    private volatile long baseDay;
+    private int capacityDays;
+
+    public ReservationCalendar(ReservationRepository reservationRepository,
+                               RoomConfigurationService roomConfig) {
+        this.reservationRepository = reservationRepository;
+        this.roomConfig = roomConfig;
+    }
+
+    /**
+     * Проверяет, свободен ли номер на все ночи периода [from, to).
+     * @param roomNumber номер комнаты
+     * @param from дата заезда
+     * @param to дата выезда
+     * @return true, если в периоде нет бронирований номера
+     */
+    public boolean isFree(int roomNumber, LocalDate from, LocalDate to) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return isClear(bookedNights.get(roomNumber), index(from), index(to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Отбирает из кандидатов номера без бронирований в периоде [from, to).
+     * Порядок кандидатов сохраняется.
+     * @param candidates номера-кандидаты
+     * @param from дата заезда
+     * @param to дата выезда
+     * @param count максимальное количество номеров в результате
+     * @return список свободных номеров
+     */
+    public List<RoomSnapshot> findFreeRooms(List<RoomSnapshot> candidates, LocalDate from, LocalDate to, int count) {
+        ensureLoaded();
+        List<RoomSnapshot> free = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int fromIndex = index(from);
+            int toIndex = index(to);
+            for (RoomSnapshot room : candidates) {
+                if (free.size() >= count) {
+                    break;
+                }
+                if (isClear(bookedNights.get(room.getNumber()), fromIndex, toIndex)) {
+                    free.add(room);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return free;
+    }
+
+    /**
+     * Атомарно бронирует ночи периода [from, to), если они свободны.
+     * Бронирование считается незавершённым, пока не вызван {@link #confirm}
+     * или {@link #release}, и до этого переносится в календарь при перестройке.
+     * @param roomNumber номер комнаты
+     * @param from дата заезда
+     * @param to дата выезда
+     * @return true, если период забронирован, false при пересечении с другим бронированием
+     */
+    public boolean tryBook(int roomNumber, LocalDate from, LocalDate to) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            long[] words = bookedNights.computeIfAbsent(roomNumber, number -> newBitmap(capacityDays));
+            int fromIndex = index(from);
+            int toIndex = index(to);
+            if (!isClear(words, fromIndex, toIndex)) {
+                return false;
+            }
+            apply(words, fromIndex, toIndex, true);
+            pending.add(new Booking(roomNumber, from, to, true));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Завершает бронирование после фиксации транзакции, в которой оно записано в БД.
+     * @param roomNumber номер комнаты
+     * @param from дата заезда
+     * @param to дата выезда
+     */
+    public void confirm(int roomNumber, LocalDate from, LocalDate to) {
+        lock.writeLock().lock();
+        try {
+            removePending(roomNumber, from, to);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(new Booking(roomNumber, from, to, true));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Освобождает ночи периода [from, to): после отмены бронирования
+     * или после отката транзакции, в которой период был забронирован.
+     * @param roomNumber номер комнаты
+     * @param from дата заезда
+     * @param to дата выезда
+     */
+    public void release(int roomNumber, LocalDate from, LocalDate to) {
+        lock.writeLock().lock();
+        try {
+            removePending(roomNumber, from, to);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(new Booking(roomNumber, from, to, false));
+            }
+            long[] words = bookedNights.get(roomNumber);
+            if (loaded && words != null) {
+                apply(words, index(from), index(to), false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Перестраивает календарь, если он не построен или устарел.
+     * Устаревшую на {@link #REBASE_PERIOD_DAYS} дней карту использовать нельзя,
+     * поэтому в этом случае поток ждёт перестройки; при меньшем отставании
+     * поток, не получивший блокировку загрузки, продолжает со старой картой.
+     */
+    private void ensureLoaded() {
+        long today = today().toEpochDay();
+        if (loaded && today - baseDay < REFRESH_AFTER_DAYS) {
+            return;
+        }
+        if (!loaded || today - baseDay >= REBASE_PERIOD_DAYS) {
+            loadLock.lock();
+        } else if (!loadLock.tryLock()) {
+            return;
+        }
+        try {
+            if (!loaded || today - baseDay >= REFRESH_AFTER_DAYS) {
+                load(today);
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Строит новую карту с началом today. БД читается без блокировки карты:
+     * изменения, сделанные за это время, записываются и применяются к новой
+     * карте после прочитанных бронирований, затем - незавершённые бронирования.
+     */
+    private void load(long today) {
+        lock.writeLock().lock();
+        try {
+            changesDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int capacity = roomConfig.getReservationHorizonDays() + REBASE_PERIOD_DAYS;
+        Map<Integer, long[]> rebuilt = new HashMap<>();
+        List<Reservation> reservations;
+        try {
+            reservations = reservationRepository.findEndingAfter(LocalDate.ofEpochDay(today));
+            for (Reservation reservation : reservations) {
+                apply(rebuilt, new Booking(reservation.getRoom().getNumber(),
+                        reservation.getCheckInDate(), reservation.getCheckOutDate(), true), today, capacity);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Booking change : changesDuringLoad) {
+                apply(rebuilt, change, today, capacity);
+            }
+            for (Booking booking : pending) {
+                apply(rebuilt, booking, today, capacity);
+            }
+            changesDuringLoad = null;
+            bookedNights.clear();
+            bookedNights.putAll(rebuilt);
+            capacityDays = capacity;
+            baseDay = today;
+            loaded = true;
+            log.info("Календарь бронирований построен с {}, бронирований: {}, незавершённых: {}, номеров: {}",
+                    LocalDate.ofEpochDay(today), reservations.size(), pending.size(), bookedNights.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает текущую дату, от которой строится календарь.
+     */
+    LocalDate today() {
+        return LocalDate.now();
+    }
+
+    private void removePending(int roomNumber, LocalDate from, LocalDate to) {
+        Iterator<Booking> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().matches(roomNumber, from, to)) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
+    private static void apply(Map<Integer, long[]> nights, Booking booking, long base, int capacity) {
+        long[] words = nights.get(booking.roomNumber);
+        if (words == null) {
+            if (!booking.booked) {
+                return;
+            }
+            words = newBitmap(capacity);
+            nights.put(booking.roomNumber, words);
+        }
+        apply(words, index(booking.from, base, capacity), index(booking.to, base, capacity), booking.booked);
+    }
+
+    private static long[] newBitmap(int capacity) {
+        return new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    private int index(LocalDate date) {
+        return index(date, baseDay, capacityDays);
+    }
+
+    /**
+     * Переводит дату в индекс бита, ограничивая его границами карты.
+     */
+    private static int index(LocalDate date, long base, int capacity) {
+        return (int) Math.max(0, Math.min(capacity, date.toEpochDay() - base));
+    }
+
+    private static boolean isClear(long[] words, int from, int to) {
+        if (words == null || from >= to) {
+            return true;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            return (words[firstWord] & firstMask & lastMask) == 0;
+        }
+        if ((words[firstWord] & firstMask) != 0) {
+            return false;
+        }
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return (words[lastWord] & lastMask) == 0;
+    }
+
+    private static void apply(long[] words, int from, int to, boolean booked) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        for (int i = firstWord; i <= lastWord; i++) {
+            long mask = -1L;
+            if (i == firstWord) {
+                mask &= firstMask;
+            }
+            if (i == lastWord) {
+                mask &= lastMask;
+            }
+            words[i] = booked ? words[i] | mask : words[i] & ~mask;
+        }
+    }
+
+    /**
+     * Период бронирования номера или его освобождения.
+     */
+    private static final class Booking {
+
+        private final int roomNumber;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final boolean booked;
+
+        private Booking(int roomNumber, LocalDate from, LocalDate to, boolean booked) {
+            this.roomNumber = roomNumber;
+            this.from = from;
+            this.to = to;
+            this.booked = booked;
+        }
+
+        private boolean matches(int roomNumber, LocalDate from, LocalDate to) {
+            return this.roomNumber == roomNumber && this.from.equals(from) && this.to.equals(to);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package hotel.cache;
+
+import hotel.events.RoomChangedEvent;
+import hotel.events.RoomsAddedEvent;
+import hotel.events.ServicesChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Счётчики версий номерного фонда, отдельных номеров и каталога услуг,
+ * из которых строятся ETag ответов на GET-запросы.
+ * Счётчики увеличиваются после фиксации транзакции, изменившей данные,
+ * и после обновления снимков номерного фонда, поэтому ответ, построенный
+ * после чтения версии, не может оказаться старше неё. В ETag входит момент
+ * запуска узла: после перезапуска счётчики начинаются заново, и старые
+ * значения ETag клиентов не совпадут с новыми.
+ */
+@Component
+public class ResourceVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong roomsVersion = new AtomicLong();
+    private final AtomicLong servicesVersion = new AtomicLong();
+    private final ConcurrentMap<Integer, Long> roomVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Возвращает ETag списков номеров.
+     * @return значение ETag
+     */
+    public String roomsETag() {
+        return eTag("rooms", roomsVersion.get());
+    }
+
+    /**
+     * Возвращает ETag номера.
+     * @param roomNumber номер комнаты
+     * @return значение ETag
+     */
+    public String roomETag(int roomNumber) {
+        return eTag("room-" + roomNumber, roomVersions.getOrDefault(roomNumber, 0L));
+    }
+
+    /**
+     * Возвращает ETag каталога услуг.
+     * @return значение ETag
+     */
+    public String servicesETag() {
+        return eTag("services", servicesVersion.get());
+    }
+
+    /**
+     * Увеличивает версии номера и номерного фонда после фиксации транзакции.
+     * Выполняется после слушателей, обновляющих снимки номерного фонда.
+     * @param event событие изменения номера
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        roomVersions.merge(event.getRoom().getNumber(), 1L, Long::sum);
+        roomsVersion.incrementAndGet();
+    }
+
+    /**
+     * Увеличивает версии добавленных номеров и номерного фонда.
+     * @param event событие пакетного добавления номеров
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomsAdded(RoomsAddedEvent event) {
+        for (RoomSnapshot room : event.getRooms()) {
+            roomVersions.merge(room.getNumber(), 1L, Long::sum);
+        }
+        roomsVersion.incrementAndGet();
+    }
+
+    /**
+     * Увеличивает версию каталога услуг после фиксации транзакции.
+     * @param event событие изменения каталога услуг
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onServicesChanged(ServicesChangedEvent event) {
+        servicesVersion.incrementAndGet();
+    }
+
+    private String eTag(String resource, long version) {
+        return "\"" + resource + "-" + Long.toString(epoch, 36) + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,139 @@
+package hotel.cache;
+
+import hotel.enums.RoomSortOption;
+import hotel.events.RoomChangedEvent;
+import hotel.events.RoomsAddedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Индекс занятости номеров по датам.
+ * Хранит периоды проживания в {@link OccupancyIntervalTree} и позволяет
+ * находить номера, свободные на весь запрошенный период, без перебора
+ * всего номерного фонда. Индекс строится из снимка номерного фонда при
+ * первом обращении и обновляется после фиксации транзакций, изменивших номера.
+ * Занятый номер без дат проживания считается занятым бессрочно.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    private static final long OPEN_START = Long.MIN_VALUE;
+    private static final long OPEN_END = Long.MAX_VALUE;
+
+    private final RoomInventoryCache roomInventoryCache;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OccupancyIntervalTree tree = new OccupancyIntervalTree();
+    private final Map<Integer, Long> occupationStarts = new HashMap<>();
+
+    private boolean loaded;
+
+    public RoomAvailabilityIndex(RoomInventoryCache roomInventoryCache) {
+        this.roomInventoryCache = roomInventoryCache;
+    }
+
+    /**
+     * Возвращает номера, занятые хотя бы один день периода [from, to).
+     * День выезда не считается днём проживания.
+     * @param from дата заезда
+     * @param to дата выезда
+     * @return множество номеров комнат
+     */
+    public Set<Integer> findOccupiedRooms(LocalDate from, LocalDate to) {
+        ensureLoaded();
+        Set<Integer> occupied = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            tree.forEachOverlapping(from.toEpochDay(), to.toEpochDay(), occupied::add);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return occupied;
+    }
+
+    /**
+     * Обновляет период проживания номера после фиксации транзакции.
+     * Выполняется после обновления снимка номерного фонда, из которого
+     * строится индекс. Если индекс ещё не построен, событие игнорируется.
+     * @param event событие изменения номера
+     */
+    @Order(1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                put(event.getRoom());
+                log.debug("Индекс занятости обновлён, номер {}", event.getRoom().getNumber());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Добавляет периоды проживания пакета новых номеров после фиксации транзакции.
+     * @param event событие пакетного добавления номеров
+     */
+    @Order(1)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomsAdded(RoomsAddedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                event.getRooms().forEach(this::put);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                List<RoomSnapshot> rooms = roomInventoryCache.current().getSortedRooms(RoomSortOption.BY_NUMBER);
+                rooms.forEach(this::put);
+                loaded = true;
+                log.info("Индекс занятости номеров построен, периодов проживания: {}", tree.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(RoomSnapshot room) {
+        Long previousStart = occupationStarts.remove(room.getNumber());
+        if (previousStart != null) {
+            tree.remove(previousStart, room.getNumber());
+        }
+        if (!room.isOccupied()) {
+            return;
+        }
+        long start = room.getCheckInDate() != null ? room.getCheckInDate().toEpochDay() : OPEN_START;
+        long end = room.getCheckOutDate() != null ? room.getCheckOutDate().toEpochDay() : OPEN_END;
+        tree.insert(start, end, room.getNumber());
+        occupationStarts.put(room.getNumber(), start);
+    }
+}
@@ -0,0 +1,117 @@
+package hotel.cache;
+
+import hotel.enums.RoomSortOption;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Неизменяемый снимок номерного фонда отеля.
+ * Списки номеров заранее отсортированы по каждому {@link RoomSortOption},
+ * поэтому чтение не требует ни запросов к БД, ни повторной сортировки.
+ * Изменения применяются копированием: {@link #withRoom(RoomSnapshot)}
+ * возвращает новый снимок, не затрагивая текущий.
+ */
+public final class RoomInventory {
+
+    private static final RoomInventory EMPTY = new RoomInventory(Map.of());
+
+    private final Map<Integer, RoomSnapshot> roomsByNumber;
+    private final Map<RoomSortOption, List<RoomSnapshot>> sortedRooms;
+    private final Map<RoomSortOption, List<RoomSnapshot>> sortedFreeRooms;
+
+    private RoomInventory(Map<Integer, RoomSnapshot> roomsByNumber) {
+        this.roomsByNumber = roomsByNumber;
+        this.sortedRooms = new EnumMap<>(RoomSortOption.class);
+        this.sortedFreeRooms = new EnumMap<>(RoomSortOption.class);
+
+        List<RoomSnapshot> all = new ArrayList<>(roomsByNumber.values());
+        for (RoomSortOption option : RoomSortOption.values()) {
+            List<RoomSnapshot> sorted = all.stream()
+                    .sorted(option.getSnapshotComparator())
+                    .toList();
+            sortedRooms.put(option, sorted);
+            sortedFreeRooms.put(option, sorted.stream().filter(RoomSnapshot::isFree).toList());
+        }
+    }
+
+    /**
+     * Возвращает пустой снимок.
+     * @return снимок без номеров
+     */
+    public static RoomInventory empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Строит снимок по набору номеров.
+     * @param rooms снимки номеров
+     * @return снимок номерного фонда
+     */
+    public static RoomInventory of(Collection<RoomSnapshot> rooms) {
+        Map<Integer, RoomSnapshot> byNumber = new HashMap<>();
+        for (RoomSnapshot room : rooms) {
+            byNumber.put(room.getNumber(), room);
+        }
+        return new RoomInventory(Map.copyOf(byNumber));
+    }
+
+    /**
+     * Возвращает новый снимок, в котором номер добавлен или заменён.
+     * @param room актуальное состояние номера
+     * @return новый снимок номерного фонда
+     */
+    public RoomInventory withRoom(RoomSnapshot room) {
+        Map<Integer, RoomSnapshot> byNumber = new HashMap<>(roomsByNumber);
+        byNumber.put(room.getNumber(), room);
+        return new RoomInventory(Map.copyOf(byNumber));
+    }
+
+    /**
+     * Возвращает новый снимок, в котором номера добавлены или заменены.
+     * @param rooms актуальное состояние номеров
+     * @return новый снимок номерного фонда
+     */
+    public RoomInventory withRooms(Collection<RoomSnapshot> rooms) {
+        Map<Integer, RoomSnapshot> byNumber = new HashMap<>(roomsByNumber);
+        for (RoomSnapshot room : rooms) {
+            byNumber.put(room.getNumber(), room);
+        }
+        return new RoomInventory(Map.copyOf(byNumber));
+    }
+
+    /**
+     * Возвращает все номера в заданном порядке.
+     * @param option критерий сортировки
+     * @return неизменяемый отсортированный список номеров
+     */
+    public List<RoomSnapshot> getSortedRooms(RoomSortOption option) {
+        return sortedRooms.get(option);
+    }
+
+    /**
+     * Возвращает свободные номера в заданном порядке.
+     * @param option критерий сортировки
+     * @return неизменяемый отсортированный список свободных номеров
+     */
+    public List<RoomSnapshot> getFreeRooms(RoomSortOption option) {
+        return sortedFreeRooms.get(option);
+    }
+
+    /**
+     * Находит номер по его номеру.
+     * @param number номер комнаты
+     * @return снимок номера или null, если номер отсутствует
+     */
+    public RoomSnapshot findByNumber(int number) {
+        return roomsByNumber.get(number);
+    }
+
+    public int size() {
+        return roomsByNumber.size();
+    }
+}
@@ -0,0 +1,97 @@
+package hotel.cache;
+
+import hotel.db.interfaces.RoomRepository;
+import hotel.events.RoomChangedEvent;
+import hotel.events.RoomsAddedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Локальный для узла кэш номерного фонда.
+ * Хранит неизменяемый {@link RoomInventory}, из которого обслуживаются
+ * списки номеров. Снимок загружается из БД при первом обращении,
+ * а затем точечно обновляется после фиксации транзакций, изменивших номера.
+ */
+@Component
+public class RoomInventoryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomInventoryCache.class);
+
+    private final RoomRepository roomRepository;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile RoomInventory inventory;
+
+    public RoomInventoryCache(RoomRepository roomRepository) {
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * Возвращает текущий снимок номерного фонда.
+     * При первом обращении загружает его из БД.
+     * @return снимок номерного фонда
+     */
+    public RoomInventory current() {
+        RoomInventory snapshot = inventory;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        lock.lock();
+        try {
+            if (inventory == null) {
+                List<RoomSnapshot> rooms = roomRepository.findAllSnapshots();
+                inventory = RoomInventory.of(rooms);
+                log.info("Снимок номерного фонда загружен, комнат: {}", rooms.size());
+            }
+            return inventory;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Применяет изменение номера к снимку после фиксации транзакции.
+     * Если снимок ещё не загружен, событие игнорируется: загрузка увидит
+     * уже зафиксированное состояние. Выполняется раньше слушателей,
+     * строящих свои структуры из снимка.
+     * @param event событие изменения номера
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        lock.lock();
+        try {
+            if (inventory != null) {
+                inventory = inventory.withRoom(event.getRoom());
+                log.debug("Снимок номерного фонда обновлён, номер {}", event.getRoom().getNumber());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Применяет пакет добавленных номеров к снимку после фиксации транзакции.
+     * @param event событие пакетного добавления номеров
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomsAdded(RoomsAddedEvent event) {
+        lock.lock();
+        try {
+            if (inventory != null) {
+                inventory = inventory.withRooms(event.getRooms());
+                log.debug("Снимок номерного фонда обновлён, добавлено номеров: {}", event.getRooms().size());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package hotel.cache;
+
+import hotel.model.Room;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Неизменяемый снимок состояния номера.
+ * Не связан с контекстом персистентности и может безопасно
+ * разделяться между потоками.
+ */
+public final class RoomSnapshot {
+
+    private final long id;
+    private final int number;
+    private final int capacity;
+    private final double price;
+    private final int stars;
+    private final boolean occupied;
+    private final boolean underMaintenance;
+    private final LocalDate checkInDate;
+    private final LocalDate checkOutDate;
+
+    public RoomSnapshot(long id, int number, int capacity, double price, int stars,
+                        boolean occupied, boolean underMaintenance,
+                        LocalDate checkInDate, LocalDate checkOutDate) {
+        this.id = id;
+        this.number = number;
+        this.capacity = capacity;
+        this.price = price;
+        this.stars = stars;
+        this.occupied = occupied;
+        this.underMaintenance = underMaintenance;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+    }
+
+    /**
+     * Создаёт снимок по текущему состоянию сущности комнаты.
+     * @param room комната
+     * @return снимок комнаты
+     */
+    public static RoomSnapshot of(Room room) {
+        return new RoomSnapshot(
+                room.getId(),
+                room.getNumber(),
+                room.getCapacity(),
+                room.getPrice(),
+                room.getStars(),
+                room.isOccupied(),
+                room.isUnderMaintenance(),
+                room.getCheckInDate(),
+                room.getCheckOutDate()
+        );
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getStars() {
+        return stars;
+    }
+
+    public boolean isOccupied() {
+        return occupied;
+    }
+
+    public boolean isUnderMaintenance() {
+        return underMaintenance;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    /**
+     * Проверяет, свободен ли номер: не занят и не на обслуживании.
+     * @return true, если номер свободен
+     */
+    public boolean isFree() {
+        return !occupied && !underMaintenance;
+    }
+
+    @Override
+    public String toString() {
+        return "Номер " + number + ", Вместимость " + capacity + ", Кол-во звезд: " + stars
+                + ", Цена: " + price + ", Занят: " + occupied + ", На обслуживании: " + underMaintenance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RoomSnapshot that = (RoomSnapshot) o;
+        return id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,93 @@
+package hotel.concurrency;
+
+import hotel.config.RetryConfigurationService;
+import hotel.exceptions.ConcurrentUpdateException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.StaleStateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Аспект, повторяющий методы с {@link RetryOnConflict} при конфликте
+ * оптимистической блокировки. Выполняется снаружи транзакционного прокси
+ * и блокировки номера, поэтому каждая попытка получает новую транзакцию
+ * и заново читает данные.
+ * Пауза перед повтором выбирается случайно от нуля до экспоненциально
+ * растущей границы, чтобы конфликтующие потоки не сталкивались повторно.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class ConflictRetryAspect {
+
+    static final String RETRIES = "hotel.conflict.retries";
+    static final String FAILURES = "hotel.conflict.failures";
+
+    private static final Logger log = LoggerFactory.getLogger(ConflictRetryAspect.class);
+
+    private final RetryConfigurationService retryConfig;
+    private final MeterRegistry meterRegistry;
+
+    public ConflictRetryAspect(RetryConfigurationService retryConfig, MeterRegistry meterRegistry) {
+        this.retryConfig = retryConfig;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(hotel.concurrency.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operation = joinPoint.getTarget().getClass().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        int maxAttempts = Math.max(1, retryConfig.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException e) {
+                if (!isConflict(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter(FAILURES, "operation", operation).increment();
+                    log.warn("Конфликт параллельного изменения не разрешён: {}, попыток: {}", operation, attempt);
+                    throw new ConcurrentUpdateException(operation, attempt, e);
+                }
+                meterRegistry.counter(RETRIES, "operation", operation).increment();
+                long delay = backoff(attempt);
+                log.debug("Конфликт параллельного изменения: {}, попытка {}, повтор через {} мс",
+                        operation, attempt, delay);
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    private long backoff(int attempt) {
+        long bound = retryConfig.getInitialBackoffMs() << Math.min(attempt - 1, 20);
+        bound = Math.min(bound, retryConfig.getMaxBackoffMs());
+        return bound > 0 ? ThreadLocalRandom.current().nextLong(bound + 1) : 0;
+    }
+
+    private static boolean isConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof OptimisticLockException
+                    || t instanceof StaleStateException
+                    || t instanceof OptimisticLockingFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
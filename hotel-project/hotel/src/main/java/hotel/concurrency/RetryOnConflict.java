@@ -0,0 +1,19 @@
+package hotel.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает метод менеджера, который повторяется целиком в новой транзакции,
+ * если его транзакция откатилась из-за конфликта оптимистической блокировки.
+ * Повтор выполняется только для внешнего вызова: внутри уже открытой
+ * транзакции конфликт передаётся вызывающему методу.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,45 @@
+package hotel.concurrency;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Аспект, выполняющий методы с {@link RoomLocked} под блокировкой номера.
+ * Располагается между повтором при конфликте и транзакционным прокси:
+ * соединение с БД берётся уже после получения блокировки, а пауза перед
+ * повтором проходит без неё. Внутри открытой транзакции блокировка
+ * не берётся, чтобы поток с занятым соединением не ждал в очереди.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RoomLockAspect {
+
+    private final RoomLocks roomLocks;
+
+    public RoomLockAspect(RoomLocks roomLocks) {
+        this.roomLocks = roomLocks;
+    }
+
+    @Around("@annotation(roomLocked)")
+    public Object lock(ProceedingJoinPoint joinPoint, RoomLocked roomLocked) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        int roomNumber = (Integer) joinPoint.getArgs()[roomLocked.roomNumberArg()];
+        ReentrantLock lock = roomLocks.lock(roomNumber);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package hotel.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает метод, изменяющий состояние номера. Вызовы для одного номера
+ * выполняются на узле последовательно: блокировка берётся до начала
+ * транзакции и снимается после её завершения. Как и {@link RetryOnConflict},
+ * действует только для внешнего вызова.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RoomLocked {
+
+    /**
+     * Позиция аргумента с номером комнаты.
+     * @return индекс аргумента метода
+     */
+    int roomNumberArg() default 0;
+}
@@ -0,0 +1,101 @@
+package hotel.concurrency;
+
+import hotel.config.RoomConfigurationService;
+import hotel.exceptions.rooms.RoomBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Набор блокировок, распределённых по номерам комнат.
+ * Номер отображается на одну из фиксированного числа блокировок, поэтому
+ * операции над одним номером выполняются по очереди, а над разными номерами
+ * почти всегда параллельно. Ожидание идёт в памяти, не занимая соединение
+ * с БД и не блокируя строки таблицы rooms.
+ */
+@Component
+public class RoomLocks {
+
+    static final String WAIT = "hotel.room.lock.wait";
+    static final String CONTENDED = "hotel.room.lock.contended";
+    static final String TIMEOUTS = "hotel.room.lock.timeouts";
+    static final String WAITING = "hotel.room.lock.waiting";
+
+    private static final Logger log = LoggerFactory.getLogger(RoomLocks.class);
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+    private final Timer waitTimer;
+    private final Counter contendedCounter;
+    private final Counter timeoutCounter;
+
+    public RoomLocks(RoomConfigurationService roomConfig, MeterRegistry meterRegistry) {
+        this.stripes = new ReentrantLock[Math.max(1, roomConfig.getLockStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = roomConfig.getLockTimeoutMs();
+        this.waitTimer = Timer.builder(WAIT)
+                .description("Ожидание блокировки номера, занятой другой операцией")
+                .register(meterRegistry);
+        this.contendedCounter = meterRegistry.counter(CONTENDED);
+        this.timeoutCounter = meterRegistry.counter(TIMEOUTS);
+        Gauge.builder(WAITING, this, RoomLocks::getWaitingThreads)
+                .description("Число потоков, ожидающих блокировку номера")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Захватывает блокировку номера. Если блокировка свободна, ожидание
+     * и метрики не затрагиваются; иначе поток ждёт не дольше
+     * room.lock.timeout.ms. Возвращённую блокировку нужно освободить
+     * в блоке finally.
+     * @param roomNumber номер комнаты
+     * @return захваченная блокировка
+     * @throws RoomBusyException если блокировку не удалось получить за отведённое время
+     */
+    public ReentrantLock lock(int roomNumber) {
+        ReentrantLock lock = stripes[Math.floorMod(roomNumber, stripes.length)];
+        if (lock.tryLock()) {
+            return lock;
+        }
+
+        contendedCounter.increment();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RoomBusyException(roomNumber);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            timeoutCounter.increment();
+            log.warn("Не удалось получить блокировку номера {} за {} мс", roomNumber, timeoutMs);
+            throw new RoomBusyException(roomNumber);
+        }
+        return lock;
+    }
+
+    /**
+     * Возвращает число потоков, ожидающих любую из блокировок.
+     * @return количество потоков
+     */
+    public int getWaitingThreads() {
+        int waiting = 0;
+        for (ReentrantLock lock : stripes) {
+            waiting += lock.getQueueLength();
+        }
+        return waiting;
+    }
+}
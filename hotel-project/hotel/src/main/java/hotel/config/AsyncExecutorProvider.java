@@ -0,0 +1,44 @@
+package hotel.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Провайдер исполнителя для методов @Async и асинхронной обработки запросов Spring MVC.
+ * При включённых виртуальных потоках каждая задача выполняется в новом виртуальном потоке,
+ * иначе - в пуле платформенных потоков размера async.pool.size.
+ */
+@Component
+public class AsyncExecutorProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncExecutorProvider.class);
+
+    private final AsyncTaskExecutor taskExecutor;
+
+    public AsyncExecutorProvider(ThreadingConfigurationService threadingConfig) {
+        if (threadingConfig.isVirtualThreadsEnabled()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-virtual-");
+            executor.setVirtualThreads(true);
+            this.taskExecutor = executor;
+        } else {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(threadingConfig.getAsyncPoolSize());
+            executor.setMaxPoolSize(threadingConfig.getAsyncPoolSize());
+            executor.setThreadNamePrefix("async-");
+            executor.initialize();
+            this.taskExecutor = executor;
+        }
+        log.info("Исполнитель асинхронных задач создан, виртуальные потоки: {}",
+                threadingConfig.isVirtualThreadsEnabled());
+    }
+
+    @Bean(name = "taskExecutor")
+    public AsyncTaskExecutor getTaskExecutor() {
+        return taskExecutor;
+    }
+}
@@ -0,0 +1,60 @@
+package hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки кэша второго уровня Hibernate: размеры регионов и время жизни записей.
+ */
+@Component
+public class CacheConfigurationService {
+
+    @Value("${cache.l2.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.rooms.max.size:10000}")
+    private long roomsMaxSize;
+
+    @Value("${cache.rooms.expire.after.write.seconds:3600}")
+    private long roomsExpireAfterWriteSeconds;
+
+    @Value("${cache.services.max.size:1000}")
+    private long servicesMaxSize;
+
+    @Value("${cache.services.expire.after.write.seconds:3600}")
+    private long servicesExpireAfterWriteSeconds;
+
+    @Value("${cache.queries.max.size:1000}")
+    private long queriesMaxSize;
+
+    @Value("${cache.queries.expire.after.write.seconds:600}")
+    private long queriesExpireAfterWriteSeconds;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getRoomsMaxSize() {
+        return roomsMaxSize;
+    }
+
+    public long getRoomsExpireAfterWriteSeconds() {
+        return roomsExpireAfterWriteSeconds;
+    }
+
+    public long getServicesMaxSize() {
+        return servicesMaxSize;
+    }
+
+    public long getServicesExpireAfterWriteSeconds() {
+        return servicesExpireAfterWriteSeconds;
+    }
+
+    public long getQueriesMaxSize() {
+        return queriesMaxSize;
+    }
+
+    public long getQueriesExpireAfterWriteSeconds() {
+        return queriesExpireAfterWriteSeconds;
+    }
+}
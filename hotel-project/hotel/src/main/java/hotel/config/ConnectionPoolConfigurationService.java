@@ -0,0 +1,74 @@
+package hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки пула соединений с БД и кэша подготовленных выражений драйвера.
+ */
+@Component
+public class ConnectionPoolConfigurationService {
+
+    @Value("${db.pool.maximum.size:20}")
+    private int maximumPoolSize;
+
+    @Value("${db.pool.minimum.idle:5}")
+    private int minimumIdle;
+
+    @Value("${db.pool.connection.timeout.ms:5000}")
+    private long connectionTimeoutMs;
+
+    @Value("${db.pool.idle.timeout.ms:600000}")
+    private long idleTimeoutMs;
+
+    @Value("${db.pool.max.lifetime.ms:1800000}")
+    private long maxLifetimeMs;
+
+    @Value("${db.pool.leak.detection.threshold.ms:0}")
+    private long leakDetectionThresholdMs;
+
+    @Value("${db.statement.cache.queries:256}")
+    private int statementCacheQueries;
+
+    @Value("${db.statement.cache.size.mib:5}")
+    private int statementCacheSizeMib;
+
+    @Value("${db.statement.prepare.threshold:5}")
+    private int prepareThreshold;
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getMinimumIdle() {
+        return minimumIdle;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public long getMaxLifetimeMs() {
+        return maxLifetimeMs;
+    }
+
+    public long getLeakDetectionThresholdMs() {
+        return leakDetectionThresholdMs;
+    }
+
+    public int getStatementCacheQueries() {
+        return statementCacheQueries;
+    }
+
+    public int getStatementCacheSizeMib() {
+        return statementCacheSizeMib;
+    }
+
+    public int getPrepareThreshold() {
+        return prepareThreshold;
+    }
+}
@@ -0,0 +1,22 @@
+package hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки счётчиков номерного фонда и гостей.
+ */
+@Component
+public class CounterConfigurationService {
+
+    @Value("${counters.reconcile.interval.ms:60000}")
+    private long reconcileIntervalMs;
+
+    /**
+     * Интервал сверки счётчиков с БД.
+     * @return интервал в миллисекундах
+     */
+    public long getReconcileIntervalMs() {
+        return reconcileIntervalMs;
+    }
+}
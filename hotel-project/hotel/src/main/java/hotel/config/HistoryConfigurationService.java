@@ -0,0 +1,54 @@
+package hotel.config;
+
+import hotel.enums.HistoryWriteMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки фоновой записи истории проживания.
+ */
+@Component
+public class HistoryConfigurationService {
+
+    @Value("${history.write.mode:ASYNC}")
+    private HistoryWriteMode writeMode;
+
+    @Value("${history.queue.capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${history.enqueue.timeout.ms:100}")
+    private long enqueueTimeoutMs;
+
+    @Value("${history.flush.interval.ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${history.batch.size:500}")
+    private int batchSize;
+
+    @Value("${history.journal.path:history.journal}")
+    private String journalPath;
+
+    public HistoryWriteMode getWriteMode() {
+        return writeMode;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getEnqueueTimeoutMs() {
+        return enqueueTimeoutMs;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public String getJournalPath() {
+        return journalPath;
+    }
+}
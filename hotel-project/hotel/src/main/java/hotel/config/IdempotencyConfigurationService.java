@@ -0,0 +1,46 @@
+package hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки хранения ответов на запросы с заголовком Idempotency-Key.
+ */
+@Component
+public class IdempotencyConfigurationService {
+
+    @Value("${idempotency.ttl.seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${idempotency.cache.max.size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${idempotency.wait.timeout.ms:30000}")
+    private long waitTimeoutMs;
+
+    /**
+     * Срок, в течение которого повтор запроса получает сохранённый ответ.
+     * @return срок в секундах
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Максимальное число ответов, хранимых в памяти. Вытесненные ответы
+     * читаются из БД.
+     * @return количество записей
+     */
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    /**
+     * Сколько повторный запрос ожидает завершения выполняющегося запроса
+     * с тем же ключом.
+     * @return время в миллисекундах
+     */
+    public long getWaitTimeoutMs() {
+        return waitTimeoutMs;
+    }
+}
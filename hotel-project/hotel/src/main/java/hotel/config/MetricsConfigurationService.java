@@ -0,0 +1,59 @@
+package hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки сбора метрик приложения.
+ */
+@Component
+public class MetricsConfigurationService {
+
+    @Value("${metrics.histogram.enabled:true}")
+    private boolean histogramEnabled;
+
+    @Value("${metrics.jvm.enabled:true}")
+    private boolean jvmEnabled;
+
+    @Value("${metrics.sql.statements.warn.threshold:20}")
+    private int sqlStatementsWarnThreshold;
+
+    @Value("${metrics.sql.repeated.warn.threshold:5}")
+    private int sqlRepeatedWarnThreshold;
+
+    @Value("${metrics.sql.entity.loads.warn.threshold:200}")
+    private int entityLoadsWarnThreshold;
+
+    /**
+     * Публиковать ли гистограммы задержек (бакеты Prometheus) для таймеров.
+     * @return true, если гистограммы включены
+     */
+    public boolean isHistogramEnabled() {
+        return histogramEnabled;
+    }
+
+    public boolean isJvmEnabled() {
+        return jvmEnabled;
+    }
+
+    /**
+     * Количество SQL-запросов за HTTP-запрос, при превышении которого пишется предупреждение.
+     * @return порог количества запросов
+     */
+    public int getSqlStatementsWarnThreshold() {
+        return sqlStatementsWarnThreshold;
+    }
+
+    /**
+     * Количество повторов одного SQL-запроса за HTTP-запрос, при превышении
+     * которого пишется предупреждение о возможной проблеме N+1.
+     * @return порог количества повторов
+     */
+    public int getSqlRepeatedWarnThreshold() {
+        return sqlRepeatedWarnThreshold;
+    }
+
+    public int getEntityLoadsWarnThreshold() {
+        return entityLoadsWarnThreshold;
+    }
+}
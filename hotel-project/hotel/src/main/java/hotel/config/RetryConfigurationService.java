@@ -0,0 +1,46 @@
+package hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки повторного выполнения операций при конфликте
+ * оптимистической блокировки.
+ */
+@Component
+public class RetryConfigurationService {
+
+    @Value("${retry.conflict.max.attempts:5}")
+    private int maxAttempts;
+
+    @Value("${retry.conflict.backoff.initial.ms:5}")
+    private long initialBackoffMs;
+
+    @Value("${retry.conflict.backoff.max.ms:100}")
+    private long maxBackoffMs;
+
+    /**
+     * Максимальное число попыток выполнения операции, включая первую.
+     * @return количество попыток
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Верхняя граница паузы перед первым повтором. С каждым следующим
+     * повтором граница удваивается.
+     * @return пауза в миллисекундах
+     */
+    public long getInitialBackoffMs() {
+        return initialBackoffMs;
+    }
+
+    /**
+     * Предельная пауза между повторами.
+     * @return пауза в миллисекундах
+     */
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+}
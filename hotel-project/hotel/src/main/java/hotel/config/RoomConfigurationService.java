@@ -12,6 +12,15 @@ public class RoomConfigurationService {
     @Value("${room.history.size:10}")
     private int historySize;
 
+    @Value("${reservation.horizon.days:800}")
+    private int reservationHorizonDays;
+
+    @Value("${room.lock.stripes:64}")
+    private int lockStripes;
+
+    @Value("${room.lock.timeout.ms:2000}")
+    private long lockTimeoutMs;
+
     public boolean isStatusChangeEnabled() {
         return statusChangeEnabled;
     }
@@ -19,4 +28,16 @@ public class RoomConfigurationService {
     public int getHistorySize() {
         return historySize;
     }
+
+    public int getReservationHorizonDays() {
+        return reservationHorizonDays;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public long getLockTimeoutMs() {
+        return lockTimeoutMs;
+    }
 }
@@ -0,0 +1,47 @@
+package hotel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки потоков обработки запросов и асинхронных задач.
+ */
+@Component
+public class ThreadingConfigurationService {
+
+    @Value("${server.virtual.threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${server.virtual.threads.pinned.threshold.ms:20}")
+    private long pinnedThresholdMs;
+
+    @Value("${async.pool.size:8}")
+    private int asyncPoolSize;
+
+    /**
+     * Выполняются ли запросы и асинхронные задачи в виртуальных потоках.
+     * Для обработки запросов свойство читается также в {@link WebAppInitializer}.
+     * @return true, если включены виртуальные потоки
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * Длительность закрепления виртуального потока за потоком-носителем,
+     * начиная с которой закрепление попадает в журнал и метрики.
+     * @return порог в миллисекундах
+     */
+    public long getPinnedThresholdMs() {
+        return pinnedThresholdMs;
+    }
+
+    /**
+     * Размер пула платформенных потоков для асинхронных задач,
+     * используется, если виртуальные потоки выключены.
+     * @return количество потоков
+     */
+    public int getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+}
@@ -0,0 +1,133 @@
+package hotel.config;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.GenericServlet;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Сервлет, выполняющий обработку запросов делегата в виртуальных потоках.
+ * Запрос переводится в асинхронный режим, поток контейнера сразу освобождается,
+ * а делегат вызывается в новом виртуальном потоке; после обработки запрос завершается.
+ * Если делегат сам начинает асинхронную обработку (например, StreamingResponseBody),
+ * он получает уже открытый AsyncContext и завершает запрос сам.
+ * Повторные асинхронные диспетчеризации и диспетчеризации ошибок передаются
+ * делегату в потоке контейнера.
+ */
+public class VirtualThreadDispatcherServlet extends GenericServlet {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDispatcherServlet.class);
+
+    private static final long DELEGATED_ASYNC_TIMEOUT_MS = 30_000;
+
+    private final Servlet delegate;
+    private ExecutorService executor;
+
+    public VirtualThreadDispatcherServlet(Servlet delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void init() throws ServletException {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory());
+        delegate.init(getServletConfig());
+        log.info("Обработка запросов в виртуальных потоках включена");
+    }
+
+    @Override
+    public void service(ServletRequest request, ServletResponse response) throws ServletException, IOException {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            delegate.service(request, response);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(0);
+        OffloadedRequest offloaded = new OffloadedRequest((HttpServletRequest) request, asyncContext);
+        executor.execute(() -> process(offloaded, (HttpServletResponse) response, asyncContext));
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+        delegate.destroy();
+    }
+
+    private void process(OffloadedRequest request, HttpServletResponse response, AsyncContext asyncContext) {
+        try {
+            delegate.service(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            log.error("Ошибка обработки запроса {} {} в виртуальном потоке",
+                    request.getMethod(), request.getRequestURI(), e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        } finally {
+            if (!request.isAsyncDelegated()) {
+                asyncContext.complete();
+            }
+        }
+    }
+
+    /**
+     * Запрос, асинхронный режим которого уже начат этим сервлетом.
+     * Для делегата запрос выглядит синхронным, пока делегат сам не начнёт
+     * асинхронную обработку: тогда он получает открытый AsyncContext.
+     */
+    private static final class OffloadedRequest extends HttpServletRequestWrapper {
+
+        private final AsyncContext asyncContext;
+        private volatile boolean asyncDelegated;
+
+        private OffloadedRequest(HttpServletRequest request, AsyncContext asyncContext) {
+            super(request);
+            this.asyncContext = asyncContext;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            return delegateAsync();
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            return delegateAsync();
+        }
+
+        @Override
+        public boolean isAsyncStarted() {
+            return asyncDelegated;
+        }
+
+        @Override
+        public AsyncContext getAsyncContext() {
+            if (!asyncDelegated) {
+                throw new IllegalStateException("Асинхронная обработка запроса не начата");
+            }
+            return asyncContext;
+        }
+
+        private AsyncContext delegateAsync() {
+            asyncDelegated = true;
+            asyncContext.setTimeout(DELEGATED_ASYNC_TIMEOUT_MS);
+            return asyncContext;
+        }
+
+        private boolean isAsyncDelegated() {
+            return asyncDelegated;
+        }
+    }
+}
@@ -1,25 +1,41 @@
 package hotel.config;
 
 import hotel.App;
+import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.web.WebApplicationInitializer;
 import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
 import org.springframework.web.servlet.DispatcherServlet;
 
+import java.io.IOException;
+
 public class WebAppInitializer implements WebApplicationInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(WebAppInitializer.class);
+
+    private static final String VIRTUAL_THREADS_PROPERTY = "server.virtual.threads.enabled";
+
     @Override
     public void onStartup(ServletContext servletContext) {
         AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
         context.register(App.class);
 
+        DispatcherServlet dispatcherServlet = new DispatcherServlet(context);
+        Servlet servlet = isVirtualThreadsEnabled()
+                ? new VirtualThreadDispatcherServlet(dispatcherServlet)
+                : dispatcherServlet;
+
         ServletRegistration.Dynamic dispatcher = servletContext.addServlet(
                 "dispatcher",
-                new DispatcherServlet(context)
+                servlet
         );
 
         dispatcher.setLoadOnStartup(1);
+        dispatcher.setAsyncSupported(true);
         dispatcher.addMapping("/");
 
         servletContext.setInitParameter(
@@ -27,4 +43,22 @@ public class WebAppInitializer implements WebApplicationInitializer {
                 "default"
         );
     }
+
+    /**
+     * Читает server.virtual.threads.enabled до создания контекста Spring:
+     * системное свойство имеет приоритет над application.properties.
+     */
+    private static boolean isVirtualThreadsEnabled() {
+        String value = System.getProperty(VIRTUAL_THREADS_PROPERTY);
+        if (value == null) {
+            try {
+                value = PropertiesLoaderUtils.loadAllProperties("application.properties")
+                        .getProperty(VIRTUAL_THREADS_PROPERTY, "false");
+            } catch (IOException e) {
+                log.error("Не удалось прочитать application.properties, виртуальные потоки выключены", e);
+                return false;
+            }
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
 }
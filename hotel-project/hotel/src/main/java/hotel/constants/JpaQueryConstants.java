@@ -1,5 +1,7 @@
 package hotel.constants;
 
+import hotel.enums.ServiceSortOption;
+
 public final class JpaQueryConstants {
 
     // Гости
@@ -12,16 +14,81 @@ public final class JpaQueryConstants {
     public static final String COUNT_ALL_GUESTS =
             "SELECT COUNT(g) FROM Guest g";
 
+    public static final String SELECT_GUEST_BY_NORMALIZED_FULL_NAME =
+            "SELECT g FROM Guest g LEFT JOIN FETCH g.room LEFT JOIN FETCH g.services " +
+                    "WHERE g.fullNameNormalized = :fullName";
+
+    public static final String SELECT_ROOM_NUMBER_BY_GUEST_ID =
+            "SELECT r.number FROM Guest g JOIN g.room r WHERE g.id = :id";
+
+    public static final String SELECT_GUESTS_CHECKED_IN_WITH_ROOM =
+            "SELECT g FROM Guest g JOIN FETCH g.room";
+
+    public static final String SELECT_GUESTS_NOT_CHECKED_IN =
+            "SELECT g FROM Guest g WHERE g.room IS NULL";
+
+    // Проекция гостей в GuestDto без загрузки сущностей и коллекции услуг
+    public static final String SELECT_GUEST_DTOS =
+            "SELECT new hotel.dto.GuestDto(g.id, g.age, g.firstName, g.secondName, r.number, COUNT(s)) " +
+                    "FROM Guest g LEFT JOIN g.room r LEFT JOIN g.services s";
+
+    public static final String GROUP_GUEST_DTOS =
+            " GROUP BY g.id, g.age, g.firstName, g.secondName, r.number";
+
+    public static final String CONDITION_GUEST_CHECKED_IN =
+            " WHERE g.room IS NOT NULL";
+
+    public static final String CONDITION_GUEST_NOT_CHECKED_IN =
+            " WHERE g.room IS NULL";
+
+    public static final String CONDITION_GUEST_FULL_NAME =
+            " WHERE g.fullNameNormalized = :fullName";
+
+    public static final String ORDER_GUESTS_BY_NAME =
+            " ORDER BY g.firstName, g.secondName, g.id";
+
+    public static final String ORDER_GUESTS_BY_AGE =
+            " ORDER BY g.age, g.id";
+
+    public static final String ORDER_GUESTS_BY_ROOM_NUMBER =
+            " ORDER BY r.number NULLS LAST, g.id";
+
     // Комнаты
     public static final String SELECT_ALL_ROOMS =
             "SELECT r FROM Room r";
 
-    public static final String SELECT_ROOM_BY_NUMBER =
-            "SELECT r FROM Room r WHERE r.number = :number";
+    public static final String SELECT_EXISTING_ROOM_NUMBERS =
+            "SELECT r.number FROM Room r WHERE r.number IN :numbers";
 
     public static final String COUNT_FREE_ROOMS =
             "SELECT COUNT(r) FROM Room r WHERE r.isOccupied = false AND r.underMaintenance = false";
 
+    // Постраничная выборка комнат (keyset-пагинация)
+    public static final String SELECT_ROOM_SNAPSHOTS =
+            "SELECT new hotel.cache.RoomSnapshot(r.id, r.number, r.capacity, r.price, r.stars, " +
+                    "r.isOccupied, r.underMaintenance, r.checkInDate, r.checkOutDate) FROM Room r";
+
+    public static final String CONDITION_ROOM_IS_FREE =
+            "r.isOccupied = false AND r.underMaintenance = false";
+
+    public static final String KEYSET_ROOMS_BY_NUMBER =
+            "r.number > :afterNumber";
+
+    public static final String KEYSET_ROOMS_BY_PRICE =
+            "(r.price, r.number) > (:afterPrice, :afterNumber)";
+
+    public static final String KEYSET_ROOMS_BY_STARS =
+            "r.stars <= :afterStars AND (r.stars < :afterStars OR r.number > :afterNumber)";
+
+    public static final String ORDER_ROOMS_BY_NUMBER =
+            " ORDER BY r.number";
+
+    public static final String ORDER_ROOMS_BY_PRICE =
+            " ORDER BY r.price, r.number";
+
+    public static final String ORDER_ROOMS_BY_STARS =
+            " ORDER BY r.stars DESC, r.number";
+
     // Сервисы
     public static final String SELECT_ALL_SERVICES =
             "SELECT s FROM Service s";
@@ -29,21 +96,108 @@ public final class JpaQueryConstants {
     public static final String SELECT_SERVICE_BY_NAME =
             "SELECT s FROM Service s WHERE s.name = :name";
 
+    // Проекция услуг в ServiceDto без загрузки сущностей
+    public static final String SELECT_SERVICE_DTOS =
+            "SELECT new hotel.dto.ServiceDto(s.id, s.name, s.description, s.price) FROM Service s";
+
+    public static final String SELECT_GUEST_SERVICE_DTOS =
+            "SELECT new hotel.dto.ServiceDto(s.id, s.name, s.description, s.price) " +
+                    "FROM Guest g JOIN g.services s WHERE g.id = :id";
+
+    public static final String ORDER_SERVICES_BY_NAME =
+            " ORDER BY s.name, s.id";
+
+    public static final String ORDER_SERVICES_BY_PRICE =
+            " ORDER BY s.price, s.id";
+
+    /**
+     * Возвращает ORDER BY для запросов услуг с псевдонимом s.
+     * @param option критерий сортировки
+     * @return фрагмент JPQL с ведущим пробелом
+     */
+    public static String orderServicesBy(ServiceSortOption option) {
+        return switch (option) {
+            case BY_NAME -> ORDER_SERVICES_BY_NAME;
+            case BY_PRICE -> ORDER_SERVICES_BY_PRICE;
+        };
+    }
+
+    // Связь гостей и услуг: нативный SQL, чтобы не загружать коллекции обеих сторон
+    public static final String GUEST_SERVICES_TABLE = "guest_services";
+
+    public static final String INSERT_GUEST_SERVICE_IF_ABSENT =
+            "INSERT INTO guest_services (guest_id, service_id) " +
+                    "SELECT g.id, s.id FROM guests g, services s WHERE g.id = :guestId AND s.id = :serviceId " +
+                    "ON CONFLICT DO NOTHING";
+
+    public static final String DELETE_GUEST_SERVICE =
+            "DELETE FROM guest_services WHERE guest_id = :guestId AND service_id = :serviceId";
+
     // История заселения
     public static final String SELECT_HISTORY_ENTRIES_BY_ROOM_ID =
-            "SELECT h.entry FROM StayHistory h WHERE h.room.id = :roomId ORDER BY h.entryDate DESC";
+            "SELECT h.entry FROM StayHistory h WHERE h.room.id = :roomId ORDER BY h.position DESC";
+
+    public static final String SELECT_HISTORY_NEXT_POSITION =
+            "SELECT COALESCE(MAX(h.position) + 1, 0) FROM StayHistory h WHERE h.room.id = :roomId";
+
+    public static final String SELECT_HISTORY_BY_ROOM_IDS =
+            "SELECT h FROM StayHistory h WHERE h.room.id IN :roomIds";
+
+    public static final String SELECT_EXISTING_ROOM_IDS =
+            "SELECT r.id FROM Room r WHERE r.id IN :roomIds";
+
+    public static final String UPDATE_HISTORY_SLOT =
+            "UPDATE StayHistory h SET h.entry = :entry, h.entryDate = :date, h.position = :position" +
+            " WHERE h.room.id = :roomId AND h.slot = :slot";
 
     public static final String DELETE_HISTORY_BY_ROOM_ID =
             "DELETE FROM StayHistory h WHERE h.room.id = :roomId";
 
-    public static final String DELETE_OLDEST_HISTORY_ENTRY_BY_ROOM_ID =
-            "DELETE FROM StayHistory h WHERE h.id = (SELECT MIN(h2.id) FROM StayHistory h2 WHERE h2.room.id = :roomId)";
+    // Бронирования
+    public static final String SELECT_ALL_RESERVATIONS =
+            "SELECT r FROM Reservation r JOIN FETCH r.room";
+
+    public static final String SELECT_RESERVATIONS_ENDING_AFTER =
+            "SELECT r FROM Reservation r JOIN FETCH r.room WHERE r.checkOutDate > :date";
+
+    public static final String SELECT_RESERVATIONS_OVERLAPPING =
+            "SELECT r FROM Reservation r JOIN r.room rm " +
+                    "WHERE rm.number = :number AND r.checkInDate < :to AND r.checkOutDate > :from";
+
+    public static final String SELECT_RESERVATIONS_BY_GUEST_ID =
+            "SELECT r FROM Reservation r JOIN FETCH r.room WHERE r.guest.id = :guestId";
+
+    public static final String SELECT_RESERVATION_BY_ID =
+            "SELECT r FROM Reservation r JOIN FETCH r.room JOIN FETCH r.guest WHERE r.id = :id";
+
+    // Ключи идемпотентности
+    public static final String SELECT_IDEMPOTENCY_RECORD =
+            "SELECT k FROM IdempotencyRecord k WHERE k.key = :key AND k.createdAt > :date";
+
+    public static final String DELETE_IDEMPOTENCY_RECORDS_BEFORE =
+            "DELETE FROM IdempotencyRecord k WHERE k.createdAt < :date";
 
     // Параметры
     public static final String PARAM_ROOM_ID = "roomId";
-    public static final String PARAM_NUMBER = "number";
+    public static final String PARAM_GUEST_ID = "guestId";
+    public static final String PARAM_SERVICE_ID = "serviceId";
+    public static final String PARAM_ROOM_IDS = "roomIds";
+    public static final String PARAM_NUMBERS = "numbers";
     public static final String PARAM_NAME = "name";
+    public static final String PARAM_FULL_NAME = "fullName";
     public static final String PARAM_LIMIT = "limit";
+    public static final String PARAM_AFTER_NUMBER = "afterNumber";
+    public static final String PARAM_AFTER_PRICE = "afterPrice";
+    public static final String PARAM_AFTER_STARS = "afterStars";
+    public static final String PARAM_DATE = "date";
+    public static final String PARAM_NUMBER = "number";
+    public static final String PARAM_FROM = "from";
+    public static final String PARAM_TO = "to";
+    public static final String PARAM_ID = "id";
+    public static final String PARAM_ENTRY = "entry";
+    public static final String PARAM_POSITION = "position";
+    public static final String PARAM_SLOT = "slot";
+    public static final String PARAM_KEY = "key";
 
     private JpaQueryConstants() { }
 }
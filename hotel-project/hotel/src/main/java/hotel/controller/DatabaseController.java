@@ -0,0 +1,69 @@
+package hotel.controller;
+
+import hotel.db.DataSourceProvider;
+import hotel.db.EntityManagerFactoryProvider;
+import hotel.dto.CacheStatsDto;
+import hotel.dto.ConnectionPoolStatsDto;
+import hotel.dto.HistoryWriterStatsDto;
+import hotel.history.StayHistoryWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер для наблюдения за подключением к БД.
+ */
+@RestController
+@RequestMapping("/api/db")
+public class DatabaseController {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseController.class);
+
+    private final DataSourceProvider dataSourceProvider;
+    private final EntityManagerFactoryProvider entityManagerFactoryProvider;
+    private final StayHistoryWriter stayHistoryWriter;
+
+    public DatabaseController(DataSourceProvider dataSourceProvider,
+                              EntityManagerFactoryProvider entityManagerFactoryProvider,
+                              StayHistoryWriter stayHistoryWriter) {
+        this.dataSourceProvider = dataSourceProvider;
+        this.entityManagerFactoryProvider = entityManagerFactoryProvider;
+        this.stayHistoryWriter = stayHistoryWriter;
+    }
+
+    /**
+     * Возвращает состояние пула соединений: занятые, свободные и ожидающие
+     * соединения, а также задержку получения соединения.
+     * @return статистика пула
+     */
+    @GetMapping("/pool")
+    public ResponseEntity<ConnectionPoolStatsDto> getPoolStats() {
+        log.info("Начало обработки команды: getPoolStats");
+        return ResponseEntity.ok(dataSourceProvider.getPoolStats());
+    }
+
+    /**
+     * Возвращает статистику кэша второго уровня: попадания, промахи
+     * и размер регионов, а также счётчики кэша запросов.
+     * @return статистика кэша
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStatsDto> getCacheStats() {
+        log.info("Начало обработки команды: getCacheStats");
+        return ResponseEntity.ok(entityManagerFactoryProvider.getCacheStats());
+    }
+
+    /**
+     * Возвращает состояние фоновой записи истории проживания:
+     * глубину очереди и время сброса пакетов.
+     * @return статистика записи истории
+     */
+    @GetMapping("/history-writer")
+    public ResponseEntity<HistoryWriterStatsDto> getHistoryWriterStats() {
+        log.info("Начало обработки команды: getHistoryWriterStats");
+        return ResponseEntity.ok(stayHistoryWriter.getStats());
+    }
+}
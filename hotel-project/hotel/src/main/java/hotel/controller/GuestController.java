@@ -1,28 +1,33 @@
 package hotel.controller;
 
+import hotel.dto.BatchItemResultDto;
 import hotel.dto.CheckInDto;
 import hotel.dto.CreateGuestDto;
 import hotel.dto.GuestDto;
 import hotel.dto.ServiceDto;
 import hotel.exceptions.guests.GuestNotFoundException;
+import hotel.idempotency.IdempotencyService;
 import hotel.mapper.GuestMapper;
-import hotel.mapper.ServiceMapper;
 import hotel.model.Guest;
-import hotel.model.Service;
 import hotel.service.interfaces.IGuestManager;
 import hotel.enums.GuestSortOption;
 import hotel.enums.ServiceSortOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -37,44 +42,74 @@ import java.util.stream.Collectors;
 public class GuestController {
 
     private static final Logger log = LoggerFactory.getLogger(GuestController.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
 
     private final IGuestManager guestManager;
     private final GuestMapper guestMapper;
-    private final ServiceMapper serviceMapper;
+    private final JsonMapper jsonMapper;
+    private final IdempotencyService idempotencyService;
 
-    public GuestController(IGuestManager guestManager, GuestMapper guestMapper, ServiceMapper serviceMapper) {
+    public GuestController(IGuestManager guestManager, GuestMapper guestMapper, JsonMapper jsonMapper,
+                           IdempotencyService idempotencyService) {
         this.guestManager = guestManager;
         this.guestMapper = guestMapper;
-        this.serviceMapper = serviceMapper;
+        this.jsonMapper = jsonMapper;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
      * Регистрирует нового гостя в системе.
+     * Повтор запроса с тем же ключом идемпотентности возвращает ранее зарегистрированного гостя.
+     * @param idempotencyKey ключ идемпотентности, необязательный
      * @param dto - DTO для регистрации гостя
      * @return зарегистрированный гость
      */
     @PostMapping
-    public ResponseEntity<GuestDto> registerGuest(@RequestBody CreateGuestDto dto) {
+    public ResponseEntity<GuestDto> registerGuest(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody CreateGuestDto dto) {
         log.info("Начало обработки команды: registerGuest, dto={}", dto);
-        Guest guest = guestManager.addGuest(guestMapper.toEntity(dto));
-        return new ResponseEntity<>(guestMapper.toDto(guest), HttpStatus.CREATED);
+        return idempotencyService.execute(idempotencyKey, "registerGuest", dto, GuestDto.class, () -> {
+            Guest guest = guestManager.addGuest(guestMapper.toEntity(dto));
+            return new ResponseEntity<>(guestMapper.toDto(guest), HttpStatus.CREATED);
+        });
+    }
+
+    /**
+     * Регистрирует пакет гостей в одной транзакции.
+     * @param dtos гости для регистрации
+     * @return результат обработки каждого гостя в порядке запроса
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResultDto>> registerGuests(@RequestBody List<CreateGuestDto> dtos) {
+        log.info("Начало обработки команды: registerGuests, count={}", dtos.size());
+        List<Guest> guests = dtos.stream()
+                .map(guestMapper::toEntity)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(guestManager.addGuests(guests));
     }
 
     /**
      * Заселяет гостя в указанный номер на заданный период.
+     * Повтор запроса с тем же ключом идемпотентности возвращает результат первого заселения.
+     * @param idempotencyKey ключ идемпотентности, необязательный
      * @param dto - DTO для заселения гостя
      * @return true, если заселение прошло успешно
      */
     @PostMapping("/check-in")
-    public ResponseEntity<Boolean> checkInGuest(@RequestBody CheckInDto dto) {
+    public ResponseEntity<Boolean> checkInGuest(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody CheckInDto dto) {
         log.info("Начало обработки команды: checkInGuest, dto={}", dto);
-        boolean result = guestManager.checkInGuest(
-                dto.getGuestId(),
-                dto.getRoomNumber(),
-                dto.getCheckIn(),
-                dto.getCheckOut()
-        );
-        return ResponseEntity.ok(result);
+        return idempotencyService.execute(idempotencyKey, "checkInGuest", dto, Boolean.class, () -> {
+            boolean result = guestManager.checkInGuest(
+                    dto.getGuestId(),
+                    dto.getRoomNumber(),
+                    dto.getCheckIn(),
+                    dto.getCheckOut()
+            );
+            return ResponseEntity.ok(result);
+        });
     }
 
     /**
@@ -89,18 +124,50 @@ public class GuestController {
     }
 
     /**
-     * Возвращает список гостей, отсортированных по заданному критерию.
+     * Возвращает гостей, отсортированных по заданному критерию.
+     * Если задан page или size, гости возвращаются постранично,
+     * иначе - все гости.
      * @param option параметр сортировки
+     * @param checkedIn фильтр по заселённости, если не задан - возвращаются все гости
+     * @param page номер страницы, начиная с 0
+     * @param size размер страницы, по умолчанию 50
      * @return список гостей
      */
     @GetMapping("/sorted")
-    public ResponseEntity<List<GuestDto>> getSortedGuests(@RequestParam GuestSortOption option) {
-        log.info("Начало обработки команды: getSortedGuests, option={}", option);
-        List<Guest> guests = guestManager.getSortedGuests(option);
-        List<GuestDto> dtos = guests.stream()
-                .map(guestMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<GuestDto>> getSortedGuests(@RequestParam GuestSortOption option,
+                                                          @RequestParam(required = false) Boolean checkedIn,
+                                                          @RequestParam(required = false) Integer page,
+                                                          @RequestParam(required = false) Integer size) {
+        log.info("Начало обработки команды: getSortedGuests, option={}, checkedIn={}, page={}, size={}",
+                option, checkedIn, page, size);
+        if (page != null || size != null) {
+            return ResponseEntity.ok(guestManager.getSortedGuests(option, checkedIn,
+                    page != null ? page : 0, size != null ? size : DEFAULT_PAGE_SIZE));
+        }
+        return ResponseEntity.ok(guestManager.getSortedGuests(option, checkedIn));
+    }
+
+    /**
+     * Потоково выгружает всех гостей, отсортированных по заданному критерию.
+     * JSON-массив записывается в ответ по мере чтения гостей из БД.
+     * @param option параметр сортировки
+     * @param checkedIn фильтр по заселённости, если не задан - выгружаются все гости
+     * @return потоковое тело ответа
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamGuests(@RequestParam GuestSortOption option,
+                                                              @RequestParam(required = false) Boolean checkedIn) {
+        log.info("Начало обработки команды: streamGuests, option={}, checkedIn={}", option, checkedIn);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = jsonMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                guestManager.streamSortedGuests(option, checkedIn, generator::writePOJO);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     /**
@@ -111,11 +178,11 @@ public class GuestController {
     @GetMapping("/search")
     public ResponseEntity<GuestDto> findGuestByFullName(@RequestParam String fullName) {
         log.info("Начало обработки команды: findGuestByFullName, fullName={}", fullName);
-        Guest guest = guestManager.findGuestByFullName(fullName);
+        GuestDto guest = guestManager.findGuestDtoByFullName(fullName);
         if (guest == null) {
             throw new GuestNotFoundException("Гость не найден: " + fullName);
         }
-        return ResponseEntity.ok(guestMapper.toDto(guest));
+        return ResponseEntity.ok(guest);
     }
 
     /**
@@ -127,15 +194,7 @@ public class GuestController {
     @GetMapping("/{guestId}/services")
     public ResponseEntity<List<ServiceDto>> getGuestServices(@PathVariable long guestId, @RequestParam ServiceSortOption option) {
         log.info("Начало обработки команды: getGuestServices, guestId={}, option={}", guestId, option);
-        Guest guest = guestManager.getGuestById(guestId);
-        if (guest == null) {
-            throw new GuestNotFoundException(guestId);
-        }
-        List<Service> services = guestManager.getSortedGuestServices(guest, option);
-        List<ServiceDto> dtos = services.stream()
-                .map(serviceMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(guestManager.getSortedGuestServiceDtos(guestId, option));
     }
 
     /**
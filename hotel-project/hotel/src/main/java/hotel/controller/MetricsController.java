@@ -0,0 +1,47 @@
+package hotel.controller;
+
+import hotel.cache.HotelCounters;
+import hotel.dto.HotelCountersDto;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер выгрузки метрик в текстовом формате Prometheus
+ * и счётчиков номерного фонда.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final PrometheusMeterRegistry meterRegistry;
+    private final HotelCounters hotelCounters;
+
+    public MetricsController(PrometheusMeterRegistry meterRegistry, HotelCounters hotelCounters) {
+        this.meterRegistry = meterRegistry;
+        this.hotelCounters = hotelCounters;
+    }
+
+    /**
+     * Возвращает текущие значения всех метрик приложения.
+     * @return метрики в формате Prometheus
+     */
+    @GetMapping(produces = PROMETHEUS_CONTENT_TYPE)
+    public ResponseEntity<String> scrape() {
+        return ResponseEntity.ok(meterRegistry.scrape());
+    }
+
+    /**
+     * Возвращает счётчики номеров по состояниям и количество гостей одним ответом.
+     * Значения хранятся в памяти и не требуют запросов к БД.
+     * @return значения счётчиков
+     */
+    @GetMapping("/counters")
+    public ResponseEntity<HotelCountersDto> getCounters() {
+        return ResponseEntity.ok(hotelCounters.getCounters());
+    }
+}
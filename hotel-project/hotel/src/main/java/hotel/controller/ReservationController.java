@@ -0,0 +1,107 @@
+package hotel.controller;
+
+import hotel.cache.RoomSnapshot;
+import hotel.dto.CreateReservationDto;
+import hotel.dto.ReservationDto;
+import hotel.dto.RoomDto;
+import hotel.mapper.ReservationMapper;
+import hotel.mapper.RoomMapper;
+import hotel.model.Reservation;
+import hotel.service.interfaces.IReservationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Контроллер для предварительного бронирования номеров.
+ * Делегирует бизнес-логику в {@link IReservationManager}.
+ */
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationController.class);
+
+    private final IReservationManager reservationManager;
+    private final ReservationMapper reservationMapper;
+    private final RoomMapper roomMapper;
+
+    public ReservationController(IReservationManager reservationManager,
+                                 ReservationMapper reservationMapper,
+                                 RoomMapper roomMapper) {
+        this.reservationManager = reservationManager;
+        this.reservationMapper = reservationMapper;
+        this.roomMapper = roomMapper;
+    }
+
+    /**
+     * Бронирует номер на период проживания.
+     * @param dto данные бронирования
+     * @return созданное бронирование
+     */
+    @PostMapping
+    public ResponseEntity<ReservationDto> createReservation(@RequestBody CreateReservationDto dto) {
+        log.info("Начало обработки команды: createReservation, roomNumber={}, guestId={}",
+                dto.getRoomNumber(), dto.getGuestId());
+        Reservation reservation = reservationManager.createReservation(
+                dto.getRoomNumber(), dto.getGuestId(), dto.getCheckIn(), dto.getCheckOut());
+        return new ResponseEntity<>(reservationMapper.toDto(reservation), HttpStatus.CREATED);
+    }
+
+    /**
+     * Возвращает бронирование по идентификатору.
+     * @param id идентификатор бронирования
+     * @return бронирование
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationDto> getReservation(@PathVariable long id) {
+        log.info("Начало обработки команды: getReservation, id={}", id);
+        return ResponseEntity.ok(reservationMapper.toDto(reservationManager.getReservationById(id)));
+    }
+
+    /**
+     * Отменяет бронирование.
+     * @param id идентификатор бронирования
+     * @return пустой ответ
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelReservation(@PathVariable long id) {
+        log.info("Начало обработки команды: cancelReservation, id={}", id);
+        reservationManager.cancelReservation(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Находит номера, свободные для бронирования на весь период.
+     * @param from дата заезда
+     * @param to дата выезда
+     * @param count требуемое количество номеров
+     * @return список номеров
+     */
+    @GetMapping("/free-rooms")
+    public ResponseEntity<List<RoomDto>> findFreeRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "1") int count) {
+        log.info("Начало обработки команды: findFreeRooms, from={}, to={}, count={}", from, to, count);
+        List<RoomSnapshot> rooms = reservationManager.findFreeRooms(from, to, count);
+        List<RoomDto> dtos = rooms.stream()
+                .map(roomMapper::toDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(dtos);
+    }
+}
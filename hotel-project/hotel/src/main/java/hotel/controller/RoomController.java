@@ -1,14 +1,19 @@
 package hotel.controller;
 
+import hotel.cache.ResourceVersions;
+import hotel.cache.RoomSnapshot;
+import hotel.dto.BatchItemResultDto;
 import hotel.dto.CreateRoomDto;
 import hotel.dto.RoomDto;
 import hotel.exceptions.rooms.RoomNotFoundException;
 import hotel.mapper.RoomMapper;
 import hotel.model.Room;
+import hotel.paging.Page;
 import hotel.service.interfaces.IRoomManager;
 import hotel.enums.RoomSortOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,6 +24,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -34,23 +40,44 @@ public class RoomController {
 
     private static final Logger log = LoggerFactory.getLogger(RoomController.class);
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final IRoomManager roomManager;
     private final RoomMapper roomMapper;
+    private final ResourceVersions resourceVersions;
 
-    public RoomController(IRoomManager roomManager, RoomMapper roomMapper) {
+    public RoomController(IRoomManager roomManager, RoomMapper roomMapper, ResourceVersions resourceVersions) {
         this.roomManager = roomManager;
         this.roomMapper = roomMapper;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
      * Возвращает список всех номеров с сортировкой.
+     * Если задан limit или after, номера возвращаются постранично,
+     * а курсор следующей страницы передаётся в заголовке {@value #NEXT_CURSOR_HEADER}.
+     * Если ETag клиента совпадает с текущей версией номерного фонда,
+     * возвращается 304 без обращения к данным.
      * @param option параметр сортировки
+     * @param limit размер страницы
+     * @param after курсор предыдущей страницы
+     * @param webRequest запрос для проверки заголовка If-None-Match
      * @return список номеров
      */
     @GetMapping
-    public ResponseEntity<List<RoomDto>> getAllRooms(@RequestParam RoomSortOption option) {
-        log.info("Начало обработки команды: getAllRooms, option={}", option);
-        List<Room> rooms = roomManager.getSortedRooms(option);
+    public ResponseEntity<List<RoomDto>> getAllRooms(@RequestParam RoomSortOption option,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String after,
+                                                     WebRequest webRequest) {
+        log.info("Начало обработки команды: getAllRooms, option={}, limit={}, after={}", option, limit, after);
+        if (webRequest.checkNotModified(resourceVersions.roomsETag())) {
+            return null;
+        }
+        if (limit != null || after != null) {
+            return toPageResponse(roomManager.getRoomsPage(option, false, after, pageSize(limit)));
+        }
+        List<RoomSnapshot> rooms = roomManager.getSortedRooms(option);
         List<RoomDto> dtos = rooms.stream()
                 .map(roomMapper::toDto)
                 .collect(Collectors.toList());
@@ -59,13 +86,47 @@ public class RoomController {
 
     /**
      * Возвращает список свободных номеров.
+     * Если задан limit или after, номера возвращаются постранично,
+     * а курсор следующей страницы передаётся в заголовке {@value #NEXT_CURSOR_HEADER}.
+     * Если ETag клиента совпадает с текущей версией номерного фонда,
+     * возвращается 304 без обращения к данным.
      * @param option параметр сортировки
+     * @param limit размер страницы
+     * @param after курсор предыдущей страницы
+     * @param webRequest запрос для проверки заголовка If-None-Match
      * @return список свободных номеров
      */
     @GetMapping("/free")
-    public ResponseEntity<List<RoomDto>> getFreeRooms(@RequestParam RoomSortOption option) {
-        log.info("Начало обработки команды: getFreeRooms, option={}", option);
-        List<Room> rooms = roomManager.getFreeRooms(option);
+    public ResponseEntity<List<RoomDto>> getFreeRooms(@RequestParam RoomSortOption option,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String after,
+                                                      WebRequest webRequest) {
+        log.info("Начало обработки команды: getFreeRooms, option={}, limit={}, after={}", option, limit, after);
+        if (webRequest.checkNotModified(resourceVersions.roomsETag())) {
+            return null;
+        }
+        if (limit != null || after != null) {
+            return toPageResponse(roomManager.getRoomsPage(option, true, after, pageSize(limit)));
+        }
+        List<RoomSnapshot> rooms = roomManager.getFreeRooms(option);
+        List<RoomDto> dtos = rooms.stream()
+                .map(roomMapper::toDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(dtos);
+    }
+
+    /**
+     * Находит номера, свободные на весь период проживания.
+     * @param from дата заезда
+     * @param to дата выезда
+     * @return список номеров
+     */
+    @GetMapping("/available")
+    public ResponseEntity<List<RoomDto>> findAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Начало обработки команды: findAvailableRooms, from={}, to={}", from, to);
+        List<RoomSnapshot> rooms = roomManager.findAvailableRooms(from, to);
         List<RoomDto> dtos = rooms.stream()
                 .map(roomMapper::toDto)
                 .collect(Collectors.toList());
@@ -80,7 +141,7 @@ public class RoomController {
     @GetMapping("/available/{date}")
     public ResponseEntity<List<RoomDto>> findRoomsThatWillBeFree(@PathVariable LocalDate date) {
         log.info("Начало обработки команды: findRoomsThatWillBeFree, date={}", date);
-        List<Room> rooms = roomManager.findRoomsThatWillBeFree(date);
+        List<RoomSnapshot> rooms = roomManager.findRoomsThatWillBeFree(date);
         List<RoomDto> dtos = rooms.stream()
                 .map(roomMapper::toDto)
                 .collect(Collectors.toList());
@@ -117,12 +178,17 @@ public class RoomController {
 
     /**
      * Возвращает полную информацию о номере.
+     * Если ETag клиента совпадает с текущей версией номера, возвращается 304.
      * @param roomNumber номер комнаты
+     * @param webRequest запрос для проверки заголовка If-None-Match
      * @return информация о номере
      */
     @GetMapping("/{roomNumber}")
-    public ResponseEntity<RoomDto> getFullRoomInfo(@PathVariable int roomNumber) {
+    public ResponseEntity<RoomDto> getFullRoomInfo(@PathVariable int roomNumber, WebRequest webRequest) {
         log.info("Начало обработки команды: getFullRoomInfo, roomNumber={}", roomNumber);
+        if (webRequest.checkNotModified(resourceVersions.roomETag(roomNumber))) {
+            return null;
+        }
         Room room = roomManager.findRoomByNumber(roomNumber);
         if (room == null) {
             throw new RoomNotFoundException(roomNumber);
@@ -156,6 +222,20 @@ public class RoomController {
         return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
 
+    /**
+     * Добавляет пакет номеров в одной транзакции.
+     * @param dtos номера для добавления
+     * @return результат обработки каждого номера в порядке запроса
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResultDto>> addRooms(@RequestBody List<CreateRoomDto> dtos) {
+        log.info("Начало обработки команды: addRooms, count={}", dtos.size());
+        List<Room> rooms = dtos.stream()
+                .map(roomMapper::toEntity)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(roomManager.addRooms(rooms));
+    }
+
     /**
      * Устанавливает или снимает режим обслуживания для номера.
      * @param roomNumber  номер комнаты
@@ -167,4 +247,19 @@ public class RoomController {
         boolean result = roomManager.setRoomMaintenance(roomNumber, maintenance);
         return ResponseEntity.ok(result);
     }
+
+    private int pageSize(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_SIZE;
+    }
+
+    private ResponseEntity<List<RoomDto>> toPageResponse(Page<RoomSnapshot> page) {
+        List<RoomDto> dtos = page.getItems().stream()
+                .map(roomMapper::toDto)
+                .collect(Collectors.toList());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(dtos);
+    }
 }
@@ -1,5 +1,6 @@
 package hotel.controller;
 
+import hotel.cache.ResourceVersions;
 import hotel.dto.CreateServiceDto;
 import hotel.dto.ServiceDto;
 import hotel.mapper.ServiceMapper;
@@ -16,9 +17,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Контроллер для управления услугами отеля.
@@ -32,10 +33,13 @@ public class ServiceController {
 
     private final IServiceManager serviceManager;
     private final ServiceMapper serviceMapper;
+    private final ResourceVersions resourceVersions;
 
-    public ServiceController(IServiceManager serviceManager, ServiceMapper serviceMapper) {
+    public ServiceController(IServiceManager serviceManager, ServiceMapper serviceMapper,
+                             ResourceVersions resourceVersions) {
         this.serviceManager = serviceManager;
         this.serviceMapper = serviceMapper;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
@@ -52,16 +56,17 @@ public class ServiceController {
 
     /**
      * Возвращает список услуг с сортировкой.
+     * Если ETag клиента совпадает с текущей версией каталога, возвращается 304.
      * @param option параметр сортировки
+     * @param webRequest запрос для проверки заголовка If-None-Match
      * @return список услуг
      */
     @GetMapping
-    public ResponseEntity<List<ServiceDto>> getServices(@RequestParam ServiceSortOption option) {
+    public ResponseEntity<List<ServiceDto>> getServices(@RequestParam ServiceSortOption option, WebRequest webRequest) {
         log.info("Начало обработки команды: getServices, option={}", option);
-        List<Service> services = serviceManager.getSortedServices(option);
-        List<ServiceDto> dtos = services.stream()
-                .map(serviceMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        if (webRequest.checkNotModified(resourceVersions.servicesETag())) {
+            return null;
+        }
+        return ResponseEntity.ok(serviceManager.getSortedServiceDtos(option));
     }
 }
@@ -0,0 +1,93 @@
+package hotel.db;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Накопитель метрик пула соединений.
+ * Подключается к HikariCP как {@link MetricsTrackerFactory} и собирает
+ * задержку получения соединения, время его использования и число таймаутов.
+ */
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator acquireMaxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder usageCount = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                createdCount.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireCount.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                acquireMaxNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageCount.increment();
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeoutCount.increment();
+            }
+        };
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    /**
+     * Возвращает среднюю задержку получения соединения из пула.
+     * @return задержка в микросекундах
+     */
+    public double getAcquireAvgMicros() {
+        long count = acquireCount.sum();
+        return count == 0 ? 0.0 : (double) TimeUnit.NANOSECONDS.toMicros(acquireNanos.sum()) / count;
+    }
+
+    /**
+     * Возвращает максимальную задержку получения соединения с момента запуска.
+     * @return задержка в микросекундах
+     */
+    public long getAcquireMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(acquireMaxNanos.get());
+    }
+
+    /**
+     * Возвращает среднее время удержания соединения вызывающим кодом.
+     * @return время в миллисекундах
+     */
+    public double getUsageAvgMillis() {
+        long count = usageCount.sum();
+        return count == 0 ? 0.0 : (double) usageMillis.sum() / count;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+}
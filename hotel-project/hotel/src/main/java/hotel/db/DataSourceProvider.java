@@ -0,0 +1,101 @@
+package hotel.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import hotel.config.ConnectionPoolConfigurationService;
+import hotel.dto.ConnectionPoolStatsDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Провайдер пула соединений с БД.
+ * Создаёт HikariCP DataSource, общий для миграций Liquibase и JPA,
+ * и предоставляет текущее состояние пула.
+ */
+@Component
+public class DataSourceProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceProvider.class);
+
+    private static final String POOL_NAME = "hotel-pool";
+
+    private final HikariDataSource dataSource;
+    private final ConnectionPoolMetrics poolMetrics;
+
+    public DataSourceProvider(
+            @Value("${db.url}") String url,
+            @Value("${db.user}") String user,
+            @Value("${db.password}") String password,
+            ConnectionPoolConfigurationService poolConfig,
+            ConnectionPoolMetrics poolMetrics
+    ) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME);
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setAutoCommit(false);
+        config.setMaximumPoolSize(poolConfig.getMaximumPoolSize());
+        config.setMinimumIdle(poolConfig.getMinimumIdle());
+        config.setConnectionTimeout(poolConfig.getConnectionTimeoutMs());
+        config.setIdleTimeout(poolConfig.getIdleTimeoutMs());
+        config.setMaxLifetime(poolConfig.getMaxLifetimeMs());
+        config.setLeakDetectionThreshold(poolConfig.getLeakDetectionThresholdMs());
+        config.addDataSourceProperty("prepareThreshold", poolConfig.getPrepareThreshold());
+        config.addDataSourceProperty("preparedStatementCacheQueries", poolConfig.getStatementCacheQueries());
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", poolConfig.getStatementCacheSizeMib());
+        config.addDataSourceProperty("reWriteBatchedInserts", true);
+        config.setMetricsTrackerFactory(poolMetrics);
+
+        this.dataSource = new HikariDataSource(config);
+        this.poolMetrics = poolMetrics;
+
+        log.info("Пул соединений {} создан, максимальный размер: {}", POOL_NAME, poolConfig.getMaximumPoolSize());
+    }
+
+    @Bean
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Возвращает текущее состояние пула соединений.
+     * @return статистика пула
+     */
+    public ConnectionPoolStatsDto getPoolStats() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        ConnectionPoolStatsDto stats = new ConnectionPoolStatsDto();
+        stats.setMaximumSize(dataSource.getMaximumPoolSize());
+        if (pool != null) {
+            stats.setActive(pool.getActiveConnections());
+            stats.setIdle(pool.getIdleConnections());
+            stats.setTotal(pool.getTotalConnections());
+            stats.setWaiting(pool.getThreadsAwaitingConnection());
+        }
+        stats.setAcquireCount(poolMetrics.getAcquireCount());
+        stats.setAcquireAvgMicros(poolMetrics.getAcquireAvgMicros());
+        stats.setAcquireMaxMicros(poolMetrics.getAcquireMaxMicros());
+        stats.setUsageAvgMillis(poolMetrics.getUsageAvgMillis());
+        stats.setTimeoutCount(poolMetrics.getTimeoutCount());
+        stats.setCreatedCount(poolMetrics.getCreatedCount());
+        return stats;
+    }
+
+    /**
+     * Закрывает пул соединений при уничтожении компонента.
+     */
+    @PreDestroy
+    public void close() {
+        if (!dataSource.isClosed()) {
+            dataSource.close();
+            log.info("Пул соединений {} закрыт", POOL_NAME);
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package hotel.db;
 
+import hotel.config.CacheConfigurationService;
+import hotel.dto.CacheRegionStatsDto;
+import hotel.dto.CacheStatsDto;
 import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,12 +19,18 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Провайдер фабрики менеджеров сущностей для JPA.
  * Создаёт и настраивает EntityManagerFactory при запуске приложения.
+ * Соединения берутся из общего пула {@link DataSourceProvider}.
+ * Кэш второго уровня и кэш запросов работают поверх регионов
+ * {@link SecondLevelCacheProvider}.
  */
 @Component
 @DependsOn("liquibaseRunner")
@@ -24,24 +39,41 @@ public class EntityManagerFactoryProvider {
     private static final Logger log = LoggerFactory.getLogger(EntityManagerFactoryProvider.class);
 
     private final EntityManagerFactory entityManagerFactory;
+    private final SecondLevelCacheProvider secondLevelCacheProvider;
 
     public EntityManagerFactoryProvider(
-            @Value("${db.url}") String url,
-            @Value("${db.user}") String user,
-            @Value("${db.password}") String password
+            DataSource dataSource,
+            SecondLevelCacheProvider secondLevelCacheProvider,
+            CacheConfigurationService cacheConfig,
+            SqlStatementCounter sqlStatementCounter,
+            @Value("${db.batch.size:50}") int batchSize,
+            @Value("${db.show.sql:true}") boolean showSql
     ) {
-        Map<String, String> properties = new HashMap<>();
-        properties.put("jakarta.persistence.jdbc.driver", "org.postgresql.Driver");
-        properties.put("jakarta.persistence.jdbc.url", url);
-        properties.put("jakarta.persistence.jdbc.user", user);
-        properties.put("jakarta.persistence.jdbc.password", password);
+        this.secondLevelCacheProvider = secondLevelCacheProvider;
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("jakarta.persistence.nonJtaDataSource", dataSource);
+        properties.put("hibernate.connection.provider_disables_autocommit", "true");
+        properties.put("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
+        properties.put("hibernate.cache.use_second_level_cache", String.valueOf(cacheConfig.isEnabled()));
+        properties.put("hibernate.cache.use_query_cache", String.valueOf(cacheConfig.isEnabled()));
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.cache_manager", secondLevelCacheProvider.getCacheManager());
+        properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        properties.put("hibernate.generate_statistics", "true");
+        properties.put("hibernate.session_factory.statement_inspector", sqlStatementCounter);
         properties.put("hibernate.hbm2ddl.auto", "validate");
-        properties.put("hibernate.show_sql", "true");
-        properties.put("hibernate.format_sql", "true");
-        properties.put("hibernate.connection.pool_size", "5");
+        properties.put("hibernate.show_sql", String.valueOf(showSql));
+        properties.put("hibernate.format_sql", String.valueOf(showSql));
 
         this.entityManagerFactory = Persistence.
                 createEntityManagerFactory("hotel-persistence-unit", properties);
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, sqlStatementCounter);
 
         log.info("EntityManagerFactory успешно создан");
     }
@@ -51,6 +83,40 @@ public class EntityManagerFactoryProvider {
         return entityManagerFactory;
     }
 
+    /**
+     * Возвращает статистику кэша второго уровня по регионам и кэша запросов.
+     * @return статистика кэша
+     */
+    public CacheStatsDto getCacheStats() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<CacheRegionStatsDto> regions = new ArrayList<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            CacheRegionStatsDto dto = new CacheRegionStatsDto();
+            dto.setRegion(regionName);
+            dto.setHitCount(region.getHitCount());
+            dto.setMissCount(region.getMissCount());
+            dto.setPutCount(region.getPutCount());
+            dto.setElementCount(secondLevelCacheProvider.estimatedSize(regionName));
+            regions.add(dto);
+        }
+
+        CacheStatsDto stats = new CacheStatsDto();
+        stats.setEnabled(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        stats.setRegions(regions);
+        stats.setSecondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount());
+        stats.setSecondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount());
+        stats.setQueryCacheHitCount(statistics.getQueryCacheHitCount());
+        stats.setQueryCacheMissCount(statistics.getQueryCacheMissCount());
+        stats.setQueryCachePutCount(statistics.getQueryCachePutCount());
+        return stats;
+    }
+
     /**
      * Закрывает фабрику менеджеров сущностей при уничтожении компонента.
      */
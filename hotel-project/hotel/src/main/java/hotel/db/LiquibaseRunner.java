@@ -1,5 +1,6 @@
 package hotel.db;
 
+import hotel.config.RoomConfigurationService;
 import jakarta.annotation.PostConstruct;
 import liquibase.Contexts;
 import liquibase.LabelExpression;
@@ -11,11 +12,10 @@ import liquibase.exception.LiquibaseException;
 import liquibase.resource.ClassLoaderResourceAccessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 @Component("liquibaseRunner")
@@ -23,22 +23,19 @@ public class LiquibaseRunner {
 
     private static final Logger log = LoggerFactory.getLogger(EntityManagerFactoryProvider.class);
 
-    @Value("${db.url}")
-    private String dbUrl;
+    private final DataSource dataSource;
+    private final RoomConfigurationService roomConfig;
 
-    @Value("${db.user}")
-    private String dbUser;
-
-    @Value("${db.password}")
-    private String dbPassword;
+    public LiquibaseRunner(DataSource dataSource, RoomConfigurationService roomConfig) {
+        this.dataSource = dataSource;
+        this.roomConfig = roomConfig;
+    }
 
     @PostConstruct
-    public void runMigrations() throws ClassNotFoundException {
+    public void runMigrations() {
         log.info("Запуск Liquibase миграций...");
 
-        Class.forName("org.postgresql.Driver");
-
-        try (Connection connection = DriverManager.getConnection(dbUrl, dbUser, dbPassword)) {
+        try (Connection connection = dataSource.getConnection()) {
             Database database = DatabaseFactory.getInstance()
                     .findCorrectDatabaseImplementation(new JdbcConnection(connection));
 
@@ -47,6 +44,7 @@ public class LiquibaseRunner {
                     new ClassLoaderResourceAccessor(),
                     database
             );
+            liquibase.setChangeLogParameter("room.history.size", roomConfig.getHistorySize());
 
             liquibase.update(new Contexts(), new LabelExpression());
             log.info("Liquibase миграции успешно применены");
@@ -0,0 +1,92 @@
+package hotel.db;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import hotel.config.CacheConfigurationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Провайдер локального для узла кэша второго уровня.
+ * Создаёт JCache CacheManager на Caffeine и регионы для сущностей
+ * и результатов запросов с ограничениями из application.properties.
+ */
+@Component
+public class SecondLevelCacheProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheProvider.class);
+
+    public static final String ROOMS_REGION = "rooms";
+    public static final String ROOMS_NATURAL_ID_REGION = "rooms-natural-id";
+    public static final String SERVICES_REGION = "services";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private final CacheManager cacheManager;
+
+    public SecondLevelCacheProvider(CacheConfigurationService cacheConfig) {
+        this.cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        createCache(ROOMS_REGION, OptionalLong.of(cacheConfig.getRoomsMaxSize()),
+                cacheConfig.getRoomsExpireAfterWriteSeconds());
+        createCache(ROOMS_NATURAL_ID_REGION, OptionalLong.of(cacheConfig.getRoomsMaxSize()),
+                cacheConfig.getRoomsExpireAfterWriteSeconds());
+        createCache(SERVICES_REGION, OptionalLong.of(cacheConfig.getServicesMaxSize()),
+                cacheConfig.getServicesExpireAfterWriteSeconds());
+        createCache(QUERY_RESULTS_REGION, OptionalLong.of(cacheConfig.getQueriesMaxSize()),
+                cacheConfig.getQueriesExpireAfterWriteSeconds());
+        // Метки обновления таблиц не должны вытесняться раньше результатов запросов
+        createCache(UPDATE_TIMESTAMPS_REGION, OptionalLong.empty(), 0);
+
+        log.info("Кэш второго уровня создан, регионы: {}", cacheManager.getCacheNames());
+    }
+
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    /**
+     * Возвращает приблизительное количество записей в регионе.
+     * @param region имя региона
+     * @return количество записей или 0, если регион не создан
+     */
+    public long estimatedSize(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        if (cache == null) {
+            return 0;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+
+    private void createCache(String region, OptionalLong maximumSize, long expireAfterWriteSeconds) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        if (expireAfterWriteSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(expireAfterWriteSeconds)));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+
+    /**
+     * Закрывает менеджер кэша при уничтожении компонента.
+     */
+    @PreDestroy
+    public void close() {
+        if (!cacheManager.isClosed()) {
+            cacheManager.close();
+            log.info("Кэш второго уровня закрыт");
+        }
+    }
+}
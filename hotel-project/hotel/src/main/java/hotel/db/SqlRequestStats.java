@@ -0,0 +1,68 @@
+package hotel.db;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Счётчики SQL-запросов и загрузок сущностей в пределах одного измерения,
+ * например одного HTTP-запроса. Одинаковые SQL-запросы (с параметрами-заполнителями)
+ * считаются отдельно, что позволяет обнаруживать проблему N+1.
+ * Экземпляр используется только потоком, в котором выполняется измерение.
+ */
+public final class SqlRequestStats {
+
+    private final SqlRequestStats parent;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private int statementCount;
+    private int entityLoadCount;
+
+    SqlRequestStats(SqlRequestStats parent) {
+        this.parent = parent;
+    }
+
+    SqlRequestStats getParent() {
+        return parent;
+    }
+
+    void recordStatement(String sql) {
+        statementCount++;
+        statementCounts.merge(sql, 1, Integer::sum);
+    }
+
+    void recordEntityLoad() {
+        entityLoadCount++;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public int getEntityLoadCount() {
+        return entityLoadCount;
+    }
+
+    /**
+     * Возвращает SQL-запрос, выполненный наибольшее количество раз.
+     * @return запрос и количество выполнений или null, если запросов не было
+     */
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        return statementCounts.entrySet().stream()
+                .max(Comparator.comparingInt(Map.Entry::getValue))
+                .orElse(null);
+    }
+
+    /**
+     * Возвращает количество выполнений каждого SQL-запроса.
+     * @return неизменяемое отображение запроса в количество выполнений
+     */
+    public Map<String, Integer> getStatementCounts() {
+        return Collections.unmodifiableMap(statementCounts);
+    }
+
+    @Override
+    public String toString() {
+        return "SqlRequestStats{statements=" + statementCount + ", entityLoads=" + entityLoadCount + "}";
+    }
+}
@@ -0,0 +1,74 @@
+package hotel.db;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Счётчик SQL-запросов и загрузок сущностей для текущего потока.
+ * Подключается к Hibernate как {@link StatementInspector} и слушатель
+ * события загрузки сущности. Счёт ведётся только между {@link #begin()}
+ * и {@link #end(SqlRequestStats)}; вложенные измерения учитываются
+ * и во внешних.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, PostLoadEventListener {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Начинает измерение в текущем потоке.
+     * @return счётчики измерения
+     */
+    public SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Завершает измерение, восстанавливая внешнее, если оно было.
+     * @param stats счётчики, полученные от {@link #begin()}
+     */
+    public void end(SqlRequestStats stats) {
+        if (stats.getParent() != null) {
+            CURRENT.set(stats.getParent());
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Выполняет действие и возвращает количество выполненных им SQL-запросов.
+     * Пример: {@code counter.measure(() -> manager.getSortedGuestServiceDtos(id, option)).getStatementCount()}.
+     * @param action измеряемое действие
+     * @return счётчики измерения
+     */
+    public SqlRequestStats measure(Supplier<?> action) {
+        SqlRequestStats stats = begin();
+        try {
+            action.get();
+        } finally {
+            end(stats);
+        }
+        return stats;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (SqlRequestStats stats = CURRENT.get(); stats != null; stats = stats.getParent()) {
+            stats.recordStatement(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        for (SqlRequestStats stats = CURRENT.get(); stats != null; stats = stats.getParent()) {
+            stats.recordEntityLoad();
+        }
+    }
+}
@@ -3,14 +3,20 @@ package hotel.db.dao.jpa;
 import hotel.constants.JpaQueryConstants;
 import hotel.db.EntityManagerContext;
 import hotel.db.interfaces.GuestRepository;
+import hotel.dto.GuestDto;
+import hotel.enums.GuestSortOption;
 import hotel.exceptions.guests.GuestException;
 import hotel.model.Guest;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * JPA-реализация репозитория для работы с гостями.
@@ -21,8 +27,13 @@ public class JpaGuestDao implements GuestRepository {
 
     private static final Logger log = LoggerFactory.getLogger(JpaGuestDao.class);
 
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private final EntityManagerContext entityManagerContext;
 
+    @Value("${db.batch.size:50}")
+    private int batchSize;
+
     public JpaGuestDao(EntityManagerContext entityManagerContext) {
         this.entityManagerContext = entityManagerContext;
     }
@@ -124,6 +135,49 @@ public class JpaGuestDao implements GuestRepository {
         }
     }
 
+    /**
+     * Находит гостя по полному имени без учёта регистра.
+     * Поиск выполняется по индексируемой нормализованной колонке; номер и услуги
+     * загружаются тем же запросом, чтобы гостя можно было отобразить вне транзакции.
+     * Ограничение выборки не задаётся: вместе с коллекцией оно применялось бы в памяти.
+     * @param fullName полное имя гостя
+     * @return гость или null, если не найден
+     */
+    @Override
+    public Guest findByFullName(String fullName) {
+        try {
+            List<Guest> guests = getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_GUEST_BY_NORMALIZED_FULL_NAME,
+                            Guest.class
+                    ).setParameter(JpaQueryConstants.PARAM_FULL_NAME, Guest.normalizeFullName(fullName))
+                    .getResultList();
+            return guests.isEmpty() ? null : guests.getFirst();
+        } catch (Exception e) {
+            log.error("Ошибка при поиске гостя по имени: {}", fullName, e);
+            throw new GuestException("Ошибка при поиске гостя по имени: " + fullName, e);
+        }
+    }
+
+    /**
+     * Находит номер комнаты, в которую заселён гость, без загрузки сущностей.
+     * @param guestId идентификатор гостя
+     * @return номер комнаты или null, если гость не найден или не заселён
+     */
+    @Override
+    public Integer findRoomNumberByGuestId(long guestId) {
+        try {
+            List<Integer> numbers = getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_ROOM_NUMBER_BY_GUEST_ID,
+                            Integer.class
+                    ).setParameter(JpaQueryConstants.PARAM_ID, guestId)
+                    .getResultList();
+            return numbers.isEmpty() ? null : numbers.getFirst();
+        } catch (Exception e) {
+            log.error("Ошибка при поиске номера комнаты гостя ID {}", guestId, e);
+            throw new GuestException("Ошибка при поиске номера комнаты гостя ID " + guestId, e);
+        }
+    }
+
     /**
      * Подсчитывает общее количество гостей.
      * @return количество гостей
@@ -162,6 +216,160 @@ public class JpaGuestDao implements GuestRepository {
         guest.getServices().size();
     }
 
+    /**
+     * Возвращает заселённых гостей вместе с их комнатами.
+     * @return список заселённых гостей
+     */
+    @Override
+    public List<Guest> findCheckedIn() {
+        try {
+            return getEntityManager().createQuery(
+                    JpaQueryConstants.SELECT_GUESTS_CHECKED_IN_WITH_ROOM,
+                    Guest.class
+            ).getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении списка заселённых гостей", e);
+            throw new GuestException("Ошибка при получении списка заселённых гостей", e);
+        }
+    }
+
+    /**
+     * Возвращает незаселённых гостей.
+     * @return список гостей без комнаты
+     */
+    @Override
+    public List<Guest> findNotCheckedIn() {
+        try {
+            return getEntityManager().createQuery(
+                    JpaQueryConstants.SELECT_GUESTS_NOT_CHECKED_IN,
+                    Guest.class
+            ).getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении списка незаселённых гостей", e);
+            throw new GuestException("Ошибка при получении списка незаселённых гостей", e);
+        }
+    }
+
+    /**
+     * Возвращает страницу гостей, отсортированных и отфильтрованных на стороне БД.
+     * Гости проецируются сразу в {@link GuestDto}, количество услуг считается
+     * агрегатом, поэтому сущности и коллекции услуг не загружаются.
+     * @param option критерий сортировки
+     * @param checkedIn фильтр по заселённости или null, если фильтр не нужен
+     * @param offset количество пропускаемых записей
+     * @param limit максимальное количество записей
+     * @return список гостей
+     */
+    @Override
+    public List<GuestDto> findDtos(GuestSortOption option, Boolean checkedIn) {
+        try {
+            return createDtoQuery(option, checkedIn).getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении списка гостей, option={}", option, e);
+            throw new GuestException("Ошибка при получении списка гостей", e);
+        }
+    }
+
+    @Override
+    public List<GuestDto> findDtoPage(GuestSortOption option, Boolean checkedIn, int offset, int limit) {
+        try {
+            return createDtoQuery(option, checkedIn)
+                    .setFirstResult(offset)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении страницы гостей, option={}", option, e);
+            throw new GuestException("Ошибка при получении страницы гостей", e);
+        }
+    }
+
+    /**
+     * Возвращает поток гостей, читаемый из БД порциями.
+     * Поток должен быть закрыт вызывающей стороной в рамках транзакции.
+     * @param option критерий сортировки
+     * @param checkedIn фильтр по заселённости или null, если фильтр не нужен
+     * @return поток гостей
+     */
+    @Override
+    public Stream<GuestDto> streamDtos(GuestSortOption option, Boolean checkedIn) {
+        try {
+            return createDtoQuery(option, checkedIn)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                    .getResultStream();
+        } catch (Exception e) {
+            log.error("Ошибка при потоковом чтении гостей, option={}", option, e);
+            throw new GuestException("Ошибка при потоковом чтении гостей", e);
+        }
+    }
+
+    /**
+     * Находит гостя по полному имени без учёта регистра и проецирует его в {@link GuestDto}.
+     * @param fullName полное имя гостя
+     * @return гость или null, если не найден
+     */
+    @Override
+    public GuestDto findDtoByFullName(String fullName) {
+        try {
+            List<GuestDto> guests = getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_GUEST_DTOS
+                                    + JpaQueryConstants.CONDITION_GUEST_FULL_NAME
+                                    + JpaQueryConstants.GROUP_GUEST_DTOS,
+                            GuestDto.class
+                    ).setParameter(JpaQueryConstants.PARAM_FULL_NAME, Guest.normalizeFullName(fullName))
+                    .setMaxResults(1)
+                    .getResultList();
+            return guests.isEmpty() ? null : guests.getFirst();
+        } catch (Exception e) {
+            log.error("Ошибка при поиске гостя по имени: {}", fullName, e);
+            throw new GuestException("Ошибка при поиске гостя по имени: " + fullName, e);
+        }
+    }
+
+    private TypedQuery<GuestDto> createDtoQuery(GuestSortOption option, Boolean checkedIn) {
+        StringBuilder jpql = new StringBuilder(JpaQueryConstants.SELECT_GUEST_DTOS);
+        if (checkedIn != null) {
+            jpql.append(checkedIn
+                    ? JpaQueryConstants.CONDITION_GUEST_CHECKED_IN
+                    : JpaQueryConstants.CONDITION_GUEST_NOT_CHECKED_IN);
+        }
+        jpql.append(JpaQueryConstants.GROUP_GUEST_DTOS);
+        jpql.append(orderBy(option));
+        return getEntityManager().createQuery(jpql.toString(), GuestDto.class);
+    }
+
+    private String orderBy(GuestSortOption option) {
+        return switch (option) {
+            case BY_NAME -> JpaQueryConstants.ORDER_GUESTS_BY_NAME;
+            case BY_AGE -> JpaQueryConstants.ORDER_GUESTS_BY_AGE;
+            case BY_ROOM_NUMBER -> JpaQueryConstants.ORDER_GUESTS_BY_ROOM_NUMBER;
+        };
+    }
+
+    /**
+     * Вставляет новые записи пакетами.
+     * После каждого пакета контекст персистентности сбрасывается в БД
+     * и очищается, чтобы не накапливать управляемые сущности.
+     * @param guests новые записи без идентификаторов
+     */
+    @Override
+    public void insertAll(List<Guest> guests) {
+        try {
+            EntityManager em = getEntityManager();
+            for (int i = 0; i < guests.size(); i++) {
+                em.persist(guests.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.flush();
+            em.clear();
+        } catch (Exception e) {
+            log.error("Ошибка при пакетной вставке гостей", e);
+            throw new GuestException("Ошибка при пакетной вставке гостей", e);
+        }
+    }
+
     private EntityManager getEntityManager() {
         return entityManagerContext.getEntityManager();
     }
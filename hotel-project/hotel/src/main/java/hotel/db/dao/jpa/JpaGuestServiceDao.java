@@ -1,8 +1,11 @@
 package hotel.db.dao.jpa;
 
 
+import hotel.constants.JpaQueryConstants;
 import hotel.db.EntityManagerContext;
 import hotel.db.interfaces.GuestServiceRepository;
+import hotel.dto.ServiceDto;
+import hotel.enums.ServiceSortOption;
 import hotel.exceptions.guests.GuestNotFoundException;
 import hotel.exceptions.services.ServiceException;
 import hotel.exceptions.services.ServiceNotFoundException;
@@ -10,6 +13,7 @@ import hotel.model.Guest;
 import hotel.model.Service;
 import jakarta.persistence.EntityManager;
 import org.hibernate.Hibernate;
+import org.hibernate.query.NativeQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
@@ -33,69 +37,73 @@ public class JpaGuestServiceDao implements GuestServiceRepository {
 
     /**
      * Добавляет услугу гостю.
+     * Связь вставляется одной командой, если её ещё нет; коллекции гостя и услуги
+     * не загружаются. Существование гостя и услуги проверяется только тогда,
+     * когда строка не была вставлена.
      * @param guestId идентификатор гостя
      * @param serviceId идентификатор услуги
      */
     @Override
     public void addServiceToGuest(long guestId, long serviceId) {
+        int inserted;
         try {
-            Guest guest = getEntityManager().find(Guest.class, guestId);
-            Service service = getEntityManager().find(Service.class, serviceId);
-
-            if (guest == null) {
-                throw new GuestNotFoundException(guestId);
-            }
-            if (service == null) {
-                throw new ServiceNotFoundException(String.valueOf(serviceId));
-            }
-
-            if (!guest.getServices().contains(service)) {
-                guest.getServices().add(service);
-            }
-
-            if (!service.getGuests().contains(guest)) {
-                service.getGuests().add(guest);
-            }
-
-            getEntityManager().merge(guest);
-            getEntityManager().merge(service);
-            log.info("Услуга ID {} успешно добавлена гостю ID {}", serviceId, guestId);
+            inserted = createLinkStatement(JpaQueryConstants.INSERT_GUEST_SERVICE_IF_ABSENT, guestId, serviceId)
+                    .executeUpdate();
         } catch (Exception e) {
             log.error("Ошибка при добавлении услуги ID {} гостю ID {}", serviceId, guestId, e);
             throw new ServiceException("Ошибка при добавлении услуги гостю", e);
         }
+        if (inserted == 0) {
+            requireGuestAndService(guestId, serviceId);
+            log.info("Услуга ID {} уже подключена гостю ID {}", serviceId, guestId);
+            return;
+        }
+        log.info("Услуга ID {} успешно добавлена гостю ID {}", serviceId, guestId);
     }
 
     /**
      * Удаляет услугу у гостя.
+     * Связь удаляется одной командой без загрузки коллекций гостя и услуги.
      * @param guestId идентификатор гостя
      * @param serviceId идентификатор услуги
      */
     @Override
     public void removeServiceFromGuest(long guestId, long serviceId) {
+        int deleted;
         try {
-            Guest guest = getEntityManager().find(Guest.class, guestId);
-            Service service = getEntityManager().find(Service.class, serviceId);
-
-            if (guest == null) {
-                throw new GuestNotFoundException(guestId);
-            }
-            if (service == null) {
-                throw new ServiceNotFoundException(String.valueOf(serviceId));
-            }
-
-            guest.getServices().remove(service);
-
-            service.getGuests().remove(guest);
-
-            getEntityManager().merge(guest);
-            getEntityManager().merge(service);
-
-            log.info("Услуга ID {} успешно удалена у гостя ID {}", serviceId, guestId);
+            deleted = createLinkStatement(JpaQueryConstants.DELETE_GUEST_SERVICE, guestId, serviceId)
+                    .executeUpdate();
         } catch (Exception e) {
             log.error("Ошибка при удалении услуги ID {} у гостя ID {}", serviceId, guestId, e);
             throw new ServiceException("Ошибка при удалении услуги у гостя", e);
         }
+        if (deleted == 0) {
+            requireGuestAndService(guestId, serviceId);
+        }
+        log.info("Услуга ID {} успешно удалена у гостя ID {}", serviceId, guestId);
+    }
+
+    /**
+     * Создаёт команду над таблицей связи гостей и услуг.
+     * Команда синхронизирована только с этой таблицей, поэтому перед ней
+     * не сбрасывается весь контекст персистентности, а из кэша второго уровня
+     * вытесняются лишь зависящие от неё коллекции.
+     */
+    private NativeQuery<?> createLinkStatement(String sql, long guestId, long serviceId) {
+        return getEntityManager().createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(JpaQueryConstants.GUEST_SERVICES_TABLE)
+                .setParameter(JpaQueryConstants.PARAM_GUEST_ID, guestId)
+                .setParameter(JpaQueryConstants.PARAM_SERVICE_ID, serviceId);
+    }
+
+    private void requireGuestAndService(long guestId, long serviceId) {
+        if (getEntityManager().find(Guest.class, guestId) == null) {
+            throw new GuestNotFoundException(guestId);
+        }
+        if (getEntityManager().find(Service.class, serviceId) == null) {
+            throw new ServiceNotFoundException(String.valueOf(serviceId));
+        }
     }
 
     /**
@@ -119,6 +127,28 @@ public class JpaGuestServiceDao implements GuestServiceRepository {
         }
     }
 
+    /**
+     * Возвращает услуги гостя, отсортированные на стороне БД.
+     * Услуги проецируются сразу в {@link ServiceDto} без загрузки гостя
+     * и его коллекции услуг.
+     * @param guestId идентификатор гостя
+     * @param option критерий сортировки
+     * @return список услуг гостя, пустой, если услуг нет или гость не найден
+     */
+    @Override
+    public List<ServiceDto> findServiceDtosByGuestId(long guestId, ServiceSortOption option) {
+        try {
+            return getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_GUEST_SERVICE_DTOS + JpaQueryConstants.orderServicesBy(option),
+                            ServiceDto.class
+                    ).setParameter(JpaQueryConstants.PARAM_ID, guestId)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при поиске услуг для гостя ID {}", guestId, e);
+            throw new ServiceException("Ошибка при поиске услуг для гостя ID " + guestId, e);
+        }
+    }
+
     /**
      * Находит всех гостей, использующих услугу.
      * @param serviceId идентификатор услуги
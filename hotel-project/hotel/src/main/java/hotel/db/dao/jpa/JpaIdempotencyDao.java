@@ -0,0 +1,83 @@
+package hotel.db.dao.jpa;
+
+import hotel.constants.JpaQueryConstants;
+import hotel.db.EntityManagerContext;
+import hotel.db.interfaces.IdempotencyRepository;
+import hotel.exceptions.dao.DaoException;
+import hotel.model.IdempotencyRecord;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class JpaIdempotencyDao implements IdempotencyRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JpaIdempotencyDao.class);
+
+    private final EntityManagerContext entityManagerContext;
+
+    public JpaIdempotencyDao(EntityManagerContext entityManagerContext) {
+        this.entityManagerContext = entityManagerContext;
+    }
+
+    /**
+     * Находит сохранённый ответ по ключу, если он создан позже указанного момента.
+     * @param key ключ идемпотентности
+     * @param createdAfter граница срока хранения
+     * @return запись или null, если ключ не найден или устарел
+     */
+    @Override
+    public IdempotencyRecord findByKey(String key, LocalDateTime createdAfter) {
+        try {
+            List<IdempotencyRecord> records = getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_IDEMPOTENCY_RECORD,
+                            IdempotencyRecord.class
+                    ).setParameter(JpaQueryConstants.PARAM_KEY, key)
+                    .setParameter(JpaQueryConstants.PARAM_DATE, createdAfter)
+                    .getResultList();
+            return records.isEmpty() ? null : records.getFirst();
+        } catch (Exception e) {
+            log.error("Ошибка при поиске ключа идемпотентности: {}", key, e);
+            throw new DaoException("Ошибка при поиске ключа идемпотентности: " + key, e);
+        }
+    }
+
+    /**
+     * Сохраняет ответ. Устаревшая запись с тем же ключом перезаписывается.
+     * @param record запись для сохранения
+     */
+    @Override
+    public void save(IdempotencyRecord record) {
+        try {
+            getEntityManager().merge(record);
+        } catch (Exception e) {
+            log.error("Ошибка при сохранении ключа идемпотентности: {}", record.getKey(), e);
+            throw new DaoException("Ошибка при сохранении ключа идемпотентности: " + record.getKey(), e);
+        }
+    }
+
+    /**
+     * Удаляет записи, созданные раньше указанного момента.
+     * @param createdBefore граница срока хранения
+     * @return количество удалённых записей
+     */
+    @Override
+    public int deleteCreatedBefore(LocalDateTime createdBefore) {
+        try {
+            return getEntityManager().createQuery(JpaQueryConstants.DELETE_IDEMPOTENCY_RECORDS_BEFORE)
+                    .setParameter(JpaQueryConstants.PARAM_DATE, createdBefore)
+                    .executeUpdate();
+        } catch (Exception e) {
+            log.error("Ошибка при удалении устаревших ключей идемпотентности", e);
+            throw new DaoException("Ошибка при удалении устаревших ключей идемпотентности", e);
+        }
+    }
+
+    private EntityManager getEntityManager() {
+        return entityManagerContext.getEntityManager();
+    }
+}
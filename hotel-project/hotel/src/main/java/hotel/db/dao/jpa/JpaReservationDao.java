@@ -0,0 +1,170 @@
+package hotel.db.dao.jpa;
+
+import hotel.constants.JpaQueryConstants;
+import hotel.db.EntityManagerContext;
+import hotel.db.interfaces.ReservationRepository;
+import hotel.exceptions.reservations.ReservationException;
+import hotel.model.Reservation;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class JpaReservationDao implements ReservationRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JpaReservationDao.class);
+
+    private final EntityManagerContext entityManagerContext;
+
+    public JpaReservationDao(EntityManagerContext entityManagerContext) {
+        this.entityManagerContext = entityManagerContext;
+    }
+
+    /**
+     * Сохраняет или обновляет бронирование в базе данных.
+     * @param reservation бронирование для сохранения
+     * @return сохраненное бронирование
+     */
+    @Override
+    public Reservation save(Reservation reservation) {
+        try {
+            EntityManager em = getEntityManager();
+            if (reservation.getId() == 0) {
+                em.persist(reservation);
+            } else {
+                reservation = em.merge(reservation);
+            }
+            return reservation;
+        } catch (Exception e) {
+            log.error("Ошибка при сохранении бронирования", e);
+            throw new ReservationException("Ошибка при сохранении бронирования", e);
+        }
+    }
+
+    /**
+     * Удаляет бронирование из базы данных.
+     * @param reservation бронирование для удаления
+     */
+    @Override
+    public void delete(Reservation reservation) {
+        try {
+            EntityManager em = getEntityManager();
+            Reservation managedReservation = em.find(Reservation.class, reservation.getId());
+            if (managedReservation != null) {
+                em.remove(managedReservation);
+            }
+        } catch (Exception e) {
+            log.error("Ошибка при удалении бронирования", e);
+            throw new ReservationException("Ошибка при удалении бронирования", e);
+        }
+    }
+
+    /**
+     * Находит бронирование по идентификатору вместе с номером и гостем.
+     * @param id идентификатор бронирования
+     * @return бронирование или null, если не найдено
+     */
+    @Override
+    public Reservation findById(long id) {
+        try {
+            List<Reservation> reservations = getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_RESERVATION_BY_ID,
+                            Reservation.class
+                    ).setParameter(JpaQueryConstants.PARAM_ID, id)
+                    .getResultList();
+            return reservations.isEmpty() ? null : reservations.getFirst();
+        } catch (Exception e) {
+            log.error("Ошибка при поиске бронирования по ID: {}", id, e);
+            throw new ReservationException("Ошибка при поиске бронирования по ID: " + id, e);
+        }
+    }
+
+    /**
+     * Возвращает все бронирования.
+     * @return список бронирований
+     */
+    @Override
+    public List<Reservation> findAll() {
+        try {
+            return getEntityManager().createQuery(
+                    JpaQueryConstants.SELECT_ALL_RESERVATIONS,
+                    Reservation.class
+            ).getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении списка бронирований", e);
+            throw new ReservationException("Ошибка при получении списка бронирований", e);
+        }
+    }
+
+    /**
+     * Возвращает бронирования, дата выезда которых позже указанной.
+     * Номер бронирования загружается вместе с ним.
+     * @param date дата
+     * @return список бронирований
+     */
+    @Override
+    public List<Reservation> findEndingAfter(LocalDate date) {
+        try {
+            return getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_RESERVATIONS_ENDING_AFTER,
+                            Reservation.class
+                    ).setParameter(JpaQueryConstants.PARAM_DATE, date)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении бронирований после даты: {}", date, e);
+            throw new ReservationException("Ошибка при получении бронирований после даты: " + date, e);
+        }
+    }
+
+    /**
+     * Возвращает бронирования номера, пересекающиеся с периодом [from, to).
+     * Гость бронирования не загружается, доступен его идентификатор.
+     * @param roomNumber номер комнаты
+     * @param from дата заезда
+     * @param to дата выезда
+     * @return список бронирований
+     */
+    @Override
+    public List<Reservation> findOverlapping(int roomNumber, LocalDate from, LocalDate to) {
+        try {
+            return getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_RESERVATIONS_OVERLAPPING,
+                            Reservation.class
+                    ).setParameter(JpaQueryConstants.PARAM_NUMBER, roomNumber)
+                    .setParameter(JpaQueryConstants.PARAM_FROM, from)
+                    .setParameter(JpaQueryConstants.PARAM_TO, to)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при поиске бронирований комнаты {} с {} по {}", roomNumber, from, to, e);
+            throw new ReservationException("Ошибка при поиске бронирований комнаты " + roomNumber
+                    + " с " + from + " по " + to, e);
+        }
+    }
+
+    /**
+     * Возвращает бронирования гостя вместе с номерами.
+     * @param guestId идентификатор гостя
+     * @return список бронирований
+     */
+    @Override
+    public List<Reservation> findByGuestId(long guestId) {
+        try {
+            return getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_RESERVATIONS_BY_GUEST_ID,
+                            Reservation.class
+                    ).setParameter(JpaQueryConstants.PARAM_GUEST_ID, guestId)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при поиске бронирований гостя ID {}", guestId, e);
+            throw new ReservationException("Ошибка при поиске бронирований гостя ID " + guestId, e);
+        }
+    }
+
+    private EntityManager getEntityManager() {
+        return entityManagerContext.getEntityManager();
+    }
+}
@@ -1,16 +1,26 @@
 package hotel.db.dao.jpa;
 
+import hotel.cache.RoomSnapshot;
 import hotel.constants.JpaQueryConstants;
 import hotel.db.EntityManagerContext;
 import hotel.db.interfaces.RoomRepository;
+import hotel.enums.RoomSortOption;
 import hotel.exceptions.rooms.RoomException;
 import hotel.model.Room;
+import hotel.paging.RoomCursor;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * DAO-класс для работы с сущностью комнаты через JPA.
@@ -22,6 +32,9 @@ public class JpaRoomDao implements RoomRepository {
 
     private final EntityManagerContext entityManagerContext;
 
+    @Value("${db.batch.size:50}")
+    private int batchSize;
+
     public JpaRoomDao(EntityManagerContext entityManagerContext) {
         this.entityManagerContext = entityManagerContext;
     }
@@ -99,24 +112,48 @@ public class JpaRoomDao implements RoomRepository {
 
     /**
      * Находит комнату по номеру.
+     * Номер комнаты - натуральный ключ: соответствие номера идентификатору
+     * берётся из кэша натуральных ключей, а сама комната - из контекста
+     * персистентности или кэша второго уровня, поэтому повторный поиск
+     * той же комнаты не выполняет SQL-запросов.
      * @param number номер комнаты
-     * @return объект комнаты или пустой Optional, если не найдена
+     * @return объект комнаты или null, если не найдена
      */
     @Override
     public Room findByNumber(int number) {
         try {
-            List<Room> rooms = getEntityManager().createQuery(
-                            JpaQueryConstants.SELECT_ROOM_BY_NUMBER,
-                            Room.class
-                    ).setParameter(JpaQueryConstants.PARAM_NUMBER, number)
-                    .getResultList();
-            return (rooms == null || rooms.isEmpty()) ? null : rooms.getFirst();
+            return getEntityManager().unwrap(Session.class)
+                    .bySimpleNaturalId(Room.class)
+                    .load(number);
         } catch (Exception e) {
             log.error("Ошибка при поиске комнаты по номеру: {}", number, e);
             throw new RoomException("Ошибка при поиске комнаты по номеру: " + number, e);
         }
     }
 
+    /**
+     * Возвращает номера комнат из переданного набора, которые уже есть в БД.
+     * Проверка выполняется одним запросом.
+     * @param numbers номера комнат
+     * @return множество существующих номеров
+     */
+    @Override
+    public Set<Integer> findExistingNumbers(Collection<Integer> numbers) {
+        if (numbers.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            return new HashSet<>(getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_EXISTING_ROOM_NUMBERS,
+                            Integer.class
+                    ).setParameter(JpaQueryConstants.PARAM_NUMBERS, numbers)
+                    .getResultList());
+        } catch (Exception e) {
+            log.error("Ошибка при проверке существующих номеров комнат", e);
+            throw new RoomException("Ошибка при проверке существующих номеров комнат", e);
+        }
+    }
+
     /**
      * Подсчитывает количество свободных комнат.
      * @return количество свободных комнат
@@ -134,6 +171,115 @@ public class JpaRoomDao implements RoomRepository {
         }
     }
 
+    /**
+     * Возвращает снимки всех комнат.
+     * Комнаты проецируются сразу в {@link RoomSnapshot}, поэтому сущности
+     * и их ленивые коллекции в контекст персистентности не попадают.
+     * @return список снимков комнат
+     */
+    @Override
+    public List<RoomSnapshot> findAllSnapshots() {
+        try {
+            return getEntityManager()
+                    .createQuery(JpaQueryConstants.SELECT_ROOM_SNAPSHOTS, RoomSnapshot.class)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении снимков комнат", e);
+            throw new RoomException("Ошибка при получении снимков комнат", e);
+        }
+    }
+
+    /**
+     * Возвращает страницу комнат, отсортированных на стороне БД.
+     * Использует keyset-пагинацию: условие по ключам сортировки последнего
+     * номера предыдущей страницы вместо OFFSET, поэтому каждая страница
+     * читается ограниченным диапазоном индекса.
+     * @param option критерий сортировки
+     * @param freeOnly true, если нужны только свободные комнаты
+     * @param after курсор последнего номера предыдущей страницы или null для первой страницы
+     * @param limit максимальное количество комнат на странице
+     * @return список снимков комнат
+     */
+    @Override
+    public List<RoomSnapshot> findPage(RoomSortOption option, boolean freeOnly, RoomCursor after, int limit) {
+        try {
+            List<String> conditions = new ArrayList<>();
+            if (freeOnly) {
+                conditions.add(JpaQueryConstants.CONDITION_ROOM_IS_FREE);
+            }
+            if (after != null) {
+                conditions.add(keysetCondition(option));
+            }
+
+            StringBuilder jpql = new StringBuilder(JpaQueryConstants.SELECT_ROOM_SNAPSHOTS);
+            if (!conditions.isEmpty()) {
+                jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+            }
+            jpql.append(orderBy(option));
+
+            TypedQuery<RoomSnapshot> query = getEntityManager()
+                    .createQuery(jpql.toString(), RoomSnapshot.class)
+                    .setMaxResults(limit);
+            if (after != null) {
+                bindKeyset(query, option, after);
+            }
+            return query.getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении страницы комнат, option={}", option, e);
+            throw new RoomException("Ошибка при получении страницы комнат", e);
+        }
+    }
+
+    private String keysetCondition(RoomSortOption option) {
+        return switch (option) {
+            case BY_NUMBER -> JpaQueryConstants.KEYSET_ROOMS_BY_NUMBER;
+            case BY_PRICE -> JpaQueryConstants.KEYSET_ROOMS_BY_PRICE;
+            case BY_STARS -> JpaQueryConstants.KEYSET_ROOMS_BY_STARS;
+        };
+    }
+
+    private String orderBy(RoomSortOption option) {
+        return switch (option) {
+            case BY_NUMBER -> JpaQueryConstants.ORDER_ROOMS_BY_NUMBER;
+            case BY_PRICE -> JpaQueryConstants.ORDER_ROOMS_BY_PRICE;
+            case BY_STARS -> JpaQueryConstants.ORDER_ROOMS_BY_STARS;
+        };
+    }
+
+    private void bindKeyset(TypedQuery<RoomSnapshot> query, RoomSortOption option, RoomCursor after) {
+        query.setParameter(JpaQueryConstants.PARAM_AFTER_NUMBER, after.getNumber());
+        switch (option) {
+            case BY_PRICE -> query.setParameter(JpaQueryConstants.PARAM_AFTER_PRICE, after.getPrice());
+            case BY_STARS -> query.setParameter(JpaQueryConstants.PARAM_AFTER_STARS, after.getStars());
+            default -> { }
+        }
+    }
+
+    /**
+     * Вставляет новые записи пакетами.
+     * После каждого пакета контекст персистентности сбрасывается в БД
+     * и очищается, чтобы не накапливать управляемые сущности.
+     * @param rooms новые записи без идентификаторов
+     */
+    @Override
+    public void insertAll(List<Room> rooms) {
+        try {
+            EntityManager em = getEntityManager();
+            for (int i = 0; i < rooms.size(); i++) {
+                em.persist(rooms.get(i));
+                if ((i + 1) % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.flush();
+            em.clear();
+        } catch (Exception e) {
+            log.error("Ошибка при пакетной вставке комнат", e);
+            throw new RoomException("Ошибка при пакетной вставке комнат", e);
+        }
+    }
+
     private EntityManager getEntityManager() {
         return entityManagerContext.getEntityManager();
     }
@@ -3,9 +3,12 @@ package hotel.db.dao.jpa;
 import hotel.constants.JpaQueryConstants;
 import hotel.db.EntityManagerContext;
 import hotel.db.interfaces.ServiceRepository;
+import hotel.dto.ServiceDto;
+import hotel.enums.ServiceSortOption;
 import hotel.exceptions.services.ServiceException;
 import hotel.model.Service;
 import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
@@ -72,7 +75,8 @@ public class JpaServiceDao implements ServiceRepository {
             return getEntityManager().createQuery(
                     JpaQueryConstants.SELECT_ALL_SERVICES,
                     Service.class
-            ).getResultList();
+            ).setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .getResultList();
         } catch (Exception e) {
             log.error("Ошибка при получении списка услуг", e);
             throw new ServiceException("Ошибка при получении списка услуг", e);
@@ -106,6 +110,7 @@ public class JpaServiceDao implements ServiceRepository {
                             JpaQueryConstants.SELECT_SERVICE_BY_NAME,
                             Service.class
                     ).setParameter(JpaQueryConstants.PARAM_NAME, name)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
                     .getResultList();
             return (services == null || services.isEmpty()) ? null : services.getFirst();
         } catch (Exception e) {
@@ -114,6 +119,27 @@ public class JpaServiceDao implements ServiceRepository {
         }
     }
 
+    /**
+     * Возвращает услуги, отсортированные на стороне БД.
+     * Услуги проецируются сразу в {@link ServiceDto}, результат запроса
+     * хранится в кэше запросов до изменения таблицы услуг.
+     * @param option критерий сортировки
+     * @return список услуг
+     */
+    @Override
+    public List<ServiceDto> findDtos(ServiceSortOption option) {
+        try {
+            return getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_SERVICE_DTOS + JpaQueryConstants.orderServicesBy(option),
+                            ServiceDto.class
+                    ).setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Ошибка при получении списка услуг, option={}", option, e);
+            throw new ServiceException("Ошибка при получении списка услуг", e);
+        }
+    }
+
     private EntityManager getEntityManager() {
         return entityManagerContext.getEntityManager();
     }
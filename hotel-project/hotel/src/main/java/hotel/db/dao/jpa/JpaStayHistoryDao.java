@@ -1,10 +1,12 @@
 package hotel.db.dao.jpa;
 
+import hotel.config.RoomConfigurationService;
 import hotel.constants.JpaQueryConstants;
 import hotel.db.EntityManagerContext;
 import hotel.db.interfaces.StayHistoryRepository;
 import hotel.exceptions.rooms.RoomException;
 import hotel.exceptions.rooms.RoomNotFoundException;
+import hotel.history.StayHistoryEntry;
 import hotel.model.Room;
 import hotel.model.StayHistory;
 import jakarta.persistence.EntityManager;
@@ -12,10 +14,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * DAO-класс для работы с историей проживания через JPA.
+ * История каждого номера хранится кольцом из room.history.size ячеек:
+ * новая запись перезаписывает самую старую, поэтому размер таблицы
+ * и стоимость записи не растут вместе с количеством заселений.
  */
 @Repository
 public class JpaStayHistoryDao implements StayHistoryRepository {
@@ -23,13 +35,20 @@ public class JpaStayHistoryDao implements StayHistoryRepository {
     private static final Logger log = LoggerFactory.getLogger(JpaStayHistoryDao.class);
 
     private final EntityManagerContext entityManagerContext;
+    private final RoomConfigurationService roomConfig;
 
-    public JpaStayHistoryDao(EntityManagerContext entityManagerContext) {
+    public JpaStayHistoryDao(EntityManagerContext entityManagerContext,
+                             RoomConfigurationService roomConfig) {
         this.entityManagerContext = entityManagerContext;
+        this.roomConfig = roomConfig;
     }
 
     /**
      * Добавляет запись в историю проживания для комнаты.
+     * Запись занимает ячейку position % room.history.size, где position -
+     * следующий порядковый номер записи номера. Занятая ячейка
+     * перезаписывается одним UPDATE, новая строка создаётся только пока
+     * кольцо не заполнено.
      * @param roomId идентификатор комнаты
      * @param entry текст записи
      */
@@ -41,11 +60,23 @@ public class JpaStayHistoryDao implements StayHistoryRepository {
                 throw new RoomNotFoundException(roomId);
             }
 
-            StayHistory history = new StayHistory();
-            history.setRoom(room);
-            history.setEntry(entry);
+            long position = getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_HISTORY_NEXT_POSITION,
+                            Long.class
+                    ).setParameter(JpaQueryConstants.PARAM_ROOM_ID, roomId)
+                    .getSingleResult();
+            int slot = (int) (position % roomConfig.getHistorySize());
 
-            getEntityManager().persist(history);
+            int updated = getEntityManager().createQuery(JpaQueryConstants.UPDATE_HISTORY_SLOT)
+                    .setParameter(JpaQueryConstants.PARAM_ENTRY, entry)
+                    .setParameter(JpaQueryConstants.PARAM_DATE, LocalDateTime.now())
+                    .setParameter(JpaQueryConstants.PARAM_POSITION, position)
+                    .setParameter(JpaQueryConstants.PARAM_ROOM_ID, roomId)
+                    .setParameter(JpaQueryConstants.PARAM_SLOT, slot)
+                    .executeUpdate();
+            if (updated == 0) {
+                getEntityManager().persist(new StayHistory(room, entry, slot, position));
+            }
 
             log.info("Добавлена запись в историю для комнаты ID {}", roomId);
         } catch (Exception e) {
@@ -54,6 +85,77 @@ public class JpaStayHistoryDao implements StayHistoryRepository {
         }
     }
 
+    /**
+     * Добавляет пакет записей истории.
+     * Ячейки колец всех номеров пакета читаются одним запросом, после чего
+     * записи перезаписывают ячейки или добавляются новыми строками;
+     * изменения отправляются в БД пакетными UPDATE и INSERT при сбросе контекста.
+     * Записи для удалённых номеров пропускаются.
+     * @param entries записи в порядке возникновения
+     */
+    @Override
+    public void addEntries(List<StayHistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, List<StayHistoryEntry>> entriesByRoom = new LinkedHashMap<>();
+            for (StayHistoryEntry entry : entries) {
+                entriesByRoom.computeIfAbsent(entry.getRoomId(), id -> new ArrayList<>()).add(entry);
+            }
+
+            Set<Long> existingRoomIds = new HashSet<>(getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_EXISTING_ROOM_IDS,
+                            Long.class
+                    ).setParameter(JpaQueryConstants.PARAM_ROOM_IDS, entriesByRoom.keySet())
+                    .getResultList());
+
+            Map<Long, Map<Integer, StayHistory>> slotsByRoom = new HashMap<>();
+            getEntityManager().createQuery(
+                            JpaQueryConstants.SELECT_HISTORY_BY_ROOM_IDS,
+                            StayHistory.class
+                    ).setParameter(JpaQueryConstants.PARAM_ROOM_IDS, existingRoomIds)
+                    .getResultList()
+                    .forEach(history -> slotsByRoom
+                            .computeIfAbsent(history.getRoom().getId(), id -> new HashMap<>())
+                            .put(history.getSlot(), history));
+
+            for (Map.Entry<Long, List<StayHistoryEntry>> roomEntries : entriesByRoom.entrySet()) {
+                long roomId = roomEntries.getKey();
+                if (!existingRoomIds.contains(roomId)) {
+                    log.warn("Комната ID {} не найдена, пропущено записей истории: {}",
+                            roomId, roomEntries.getValue().size());
+                    continue;
+                }
+                Map<Integer, StayHistory> slots = slotsByRoom.computeIfAbsent(roomId, id -> new HashMap<>());
+                long position = slots.values().stream()
+                        .mapToLong(StayHistory::getPosition)
+                        .max()
+                        .orElse(-1) + 1;
+                for (StayHistoryEntry entry : roomEntries.getValue()) {
+                    int slot = (int) (position % roomConfig.getHistorySize());
+                    StayHistory history = slots.get(slot);
+                    if (history == null) {
+                        history = new StayHistory(getEntityManager().getReference(Room.class, roomId),
+                                entry.getEntry(), slot, position);
+                        getEntityManager().persist(history);
+                        slots.put(slot, history);
+                    } else {
+                        history.setEntry(entry.getEntry());
+                        history.setPosition(position);
+                    }
+                    history.setEntryDate(entry.getCreatedAt());
+                    position++;
+                }
+            }
+
+            log.debug("Добавлен пакет записей истории: {}, комнат: {}", entries.size(), entriesByRoom.size());
+        } catch (Exception e) {
+            log.error("Ошибка при добавлении пакета записей истории, записей: {}", entries.size(), e);
+            throw new RoomException("Ошибка при добавлении пакета записей истории", e);
+        }
+    }
+
     /**
      * Получает последние записи истории для комнаты.
      * @param roomId идентификатор комнаты
@@ -92,23 +194,6 @@ public class JpaStayHistoryDao implements StayHistoryRepository {
         }
     }
 
-    /**
-     * Удаляет самую старую запись истории для комнаты.
-     * @param roomId идентификатор комнаты
-     */
-    @Override
-    public void deleteOldestEntryForRoom(long roomId) {
-        try {
-            getEntityManager().createQuery(
-                            JpaQueryConstants.DELETE_OLDEST_HISTORY_ENTRY_BY_ROOM_ID
-                    ).setParameter(JpaQueryConstants.PARAM_ROOM_ID, roomId)
-                    .executeUpdate();
-        } catch (Exception e) {
-            log.error("Ошибка при удалении самой старой записи истории для комнаты ID {}", roomId, e);
-            throw new RoomException("Ошибка при удалении самой старой записи истории для комнаты ID " + roomId, e);
-        }
-    }
-
     private EntityManager getEntityManager() {
         return entityManagerContext.getEntityManager();
     }
@@ -1,12 +1,25 @@
 package hotel.db.interfaces;
 
+import hotel.dto.GuestDto;
+import hotel.enums.GuestSortOption;
 import hotel.model.Guest;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface GuestRepository extends BaseRepository<Guest> {
+
     List<Guest> findByRoomId(long roomId);
+    void insertAll(List<Guest> guests);
+    Guest findByFullName(String fullName);
+    Integer findRoomNumberByGuestId(long guestId);
     int count();
     void loadRoomForGuest(Guest guest);
     void loadServicesForGuest(Guest guest);
+    List<Guest> findCheckedIn();
+    List<Guest> findNotCheckedIn();
+    List<GuestDto> findDtos(GuestSortOption option, Boolean checkedIn);
+    List<GuestDto> findDtoPage(GuestSortOption option, Boolean checkedIn, int offset, int limit);
+    Stream<GuestDto> streamDtos(GuestSortOption option, Boolean checkedIn);
+    GuestDto findDtoByFullName(String fullName);
 }
@@ -1,13 +1,17 @@
 package hotel.db.interfaces;
 
+import hotel.dto.ServiceDto;
+import hotel.enums.ServiceSortOption;
 import hotel.model.Guest;
 import hotel.model.Service;
 
 import java.util.List;
 
 public interface GuestServiceRepository {
+
     void addServiceToGuest(long guestId, long serviceId);
     void removeServiceFromGuest(long guestId, long serviceId);
     List<Service> findServicesByGuestId(long guestId);
+    List<ServiceDto> findServiceDtosByGuestId(long guestId, ServiceSortOption option);
     List<Guest> findGuestsByServiceId(long serviceId);
 }
\ No newline at end of file
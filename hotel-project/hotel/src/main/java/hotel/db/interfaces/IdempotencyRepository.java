@@ -0,0 +1,12 @@
+package hotel.db.interfaces;
+
+import hotel.model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRepository {
+
+    IdempotencyRecord findByKey(String key, LocalDateTime createdAfter);
+    void save(IdempotencyRecord record);
+    int deleteCreatedBefore(LocalDateTime createdBefore);
+}
@@ -0,0 +1,13 @@
+package hotel.db.interfaces;
+
+import hotel.model.Reservation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReservationRepository extends BaseRepository<Reservation> {
+
+    List<Reservation> findEndingAfter(LocalDate date);
+    List<Reservation> findOverlapping(int roomNumber, LocalDate from, LocalDate to);
+    List<Reservation> findByGuestId(long guestId);
+}
@@ -1,9 +1,20 @@
 package hotel.db.interfaces;
 
+import hotel.cache.RoomSnapshot;
+import hotel.enums.RoomSortOption;
 import hotel.model.Room;
+import hotel.paging.RoomCursor;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 public interface RoomRepository extends BaseRepository<Room> {
+
     Room findByNumber(int number);
+    Set<Integer> findExistingNumbers(Collection<Integer> numbers);
+    void insertAll(List<Room> rooms);
     int countFree();
+    List<RoomSnapshot> findAllSnapshots();
+    List<RoomSnapshot> findPage(RoomSortOption option, boolean freeOnly, RoomCursor after, int limit);
 }
\ No newline at end of file
@@ -1,7 +1,13 @@
 package hotel.db.interfaces;
 
+import hotel.dto.ServiceDto;
+import hotel.enums.ServiceSortOption;
 import hotel.model.Service;
 
+import java.util.List;
+
 public interface ServiceRepository extends BaseRepository<Service> {
+
     Service findByName(String name);
+    List<ServiceDto> findDtos(ServiceSortOption option);
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package hotel.db.interfaces;
 
+import hotel.history.StayHistoryEntry;
+
 import java.util.List;
 
 public interface StayHistoryRepository {
+
     void addEntry(long roomId, String entry);
+    void addEntries(List<StayHistoryEntry> entries);
     List<String> findByRoomId(long roomId, int limit);
     void deleteByRoomId(long roomId);
-    void deleteOldestEntryForRoom(long roomId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package hotel.dto;
+
+import hotel.enums.BatchItemStatus;
+
+public class BatchItemResultDto {
+
+    private int index;
+    private BatchItemStatus status;
+    private Long id;
+    private String message;
+
+    public BatchItemResultDto() { }
+
+    public BatchItemResultDto(int index, BatchItemStatus status, Long id, String message) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+
+    public static BatchItemResultDto created(int index, long id) {
+        return new BatchItemResultDto(index, BatchItemStatus.CREATED, id, null);
+    }
+
+    public static BatchItemResultDto rejected(int index, BatchItemStatus status, String message) {
+        return new BatchItemResultDto(index, status, null, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BatchItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BatchItemStatus status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
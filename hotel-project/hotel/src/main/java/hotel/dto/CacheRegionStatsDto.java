@@ -0,0 +1,50 @@
+package hotel.dto;
+
+public class CacheRegionStatsDto {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long elementCount;
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public void setPutCount(long putCount) {
+        this.putCount = putCount;
+    }
+
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    public void setElementCount(long elementCount) {
+        this.elementCount = elementCount;
+    }
+}
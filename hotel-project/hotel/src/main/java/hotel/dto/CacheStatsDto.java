@@ -0,0 +1,70 @@
+package hotel.dto;
+
+import java.util.List;
+
+public class CacheStatsDto {
+
+    private boolean enabled;
+    private List<CacheRegionStatsDto> regions;
+    private long secondLevelCacheHitCount;
+    private long secondLevelCacheMissCount;
+    private long queryCacheHitCount;
+    private long queryCacheMissCount;
+    private long queryCachePutCount;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<CacheRegionStatsDto> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<CacheRegionStatsDto> regions) {
+        this.regions = regions;
+    }
+
+    public long getSecondLevelCacheHitCount() {
+        return secondLevelCacheHitCount;
+    }
+
+    public void setSecondLevelCacheHitCount(long secondLevelCacheHitCount) {
+        this.secondLevelCacheHitCount = secondLevelCacheHitCount;
+    }
+
+    public long getSecondLevelCacheMissCount() {
+        return secondLevelCacheMissCount;
+    }
+
+    public void setSecondLevelCacheMissCount(long secondLevelCacheMissCount) {
+        this.secondLevelCacheMissCount = secondLevelCacheMissCount;
+    }
+
+    public long getQueryCacheHitCount() {
+        return queryCacheHitCount;
+    }
+
+    public void setQueryCacheHitCount(long queryCacheHitCount) {
+        this.queryCacheHitCount = queryCacheHitCount;
+    }
+
+    public long getQueryCacheMissCount() {
+        return queryCacheMissCount;
+    }
+
+    public void setQueryCacheMissCount(long queryCacheMissCount) {
+        this.queryCacheMissCount = queryCacheMissCount;
+    }
+
+    public long getQueryCachePutCount() {
+        return queryCachePutCount;
+    }
+
+    public void setQueryCachePutCount(long queryCachePutCount) {
+        this.queryCachePutCount = queryCachePutCount;
+    }
+}
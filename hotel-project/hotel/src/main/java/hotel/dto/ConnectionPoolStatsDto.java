@@ -0,0 +1,104 @@
+package hotel.dto;
+
+public class ConnectionPoolStatsDto {
+
+    private int maximumSize;
+    private int active;
+    private int idle;
+    private int total;
+    private int waiting;
+    private long acquireCount;
+    private double acquireAvgMicros;
+    private long acquireMaxMicros;
+    private double usageAvgMillis;
+    private long timeoutCount;
+    private long createdCount;
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public void setIdle(int idle) {
+        this.idle = idle;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    public void setAcquireCount(long acquireCount) {
+        this.acquireCount = acquireCount;
+    }
+
+    public double getAcquireAvgMicros() {
+        return acquireAvgMicros;
+    }
+
+    public void setAcquireAvgMicros(double acquireAvgMicros) {
+        this.acquireAvgMicros = acquireAvgMicros;
+    }
+
+    public long getAcquireMaxMicros() {
+        return acquireMaxMicros;
+    }
+
+    public void setAcquireMaxMicros(long acquireMaxMicros) {
+        this.acquireMaxMicros = acquireMaxMicros;
+    }
+
+    public double getUsageAvgMillis() {
+        return usageAvgMillis;
+    }
+
+    public void setUsageAvgMillis(double usageAvgMillis) {
+        this.usageAvgMillis = usageAvgMillis;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public void setTimeoutCount(long timeoutCount) {
+        this.timeoutCount = timeoutCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public void setCreatedCount(long createdCount) {
+        this.createdCount = createdCount;
+    }
+}
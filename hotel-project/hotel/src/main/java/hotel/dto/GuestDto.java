@@ -9,6 +9,18 @@ public class GuestDto {
     private Integer roomNumber;
     private int servicesCount;
 
+    public GuestDto() {
+    }
+
+    public GuestDto(Long id, Integer age, String firstName, String secondName, Integer roomNumber, Long servicesCount) {
+        this.id = id;
+        this.age = age;
+        this.firstName = firstName;
+        this.secondName = secondName;
+        this.roomNumber = roomNumber;
+        this.servicesCount = Math.toIntExact(servicesCount);
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,106 @@
+package hotel.dto;
+
+import hotel.enums.HistoryWriteMode;
+
+public class HistoryWriterStatsDto {
+
+    private HistoryWriteMode mode;
+    private int queueDepth;
+    private int queueCapacity;
+    private long enqueuedCount;
+    private long writtenCount;
+    private long failedCount;
+    private long directCount;
+    private long droppedCount;
+    private long flushCount;
+    private double flushAvgMillis;
+    private double flushMaxMillis;
+
+    public HistoryWriteMode getMode() {
+        return mode;
+    }
+
+    public void setMode(HistoryWriteMode mode) {
+        this.mode = mode;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount;
+    }
+
+    public void setEnqueuedCount(long enqueuedCount) {
+        this.enqueuedCount = enqueuedCount;
+    }
+
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    public void setWrittenCount(long writtenCount) {
+        this.writtenCount = writtenCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public long getDirectCount() {
+        return directCount;
+    }
+
+    public void setDirectCount(long directCount) {
+        this.directCount = directCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public void setDroppedCount(long droppedCount) {
+        this.droppedCount = droppedCount;
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public void setFlushCount(long flushCount) {
+        this.flushCount = flushCount;
+    }
+
+    public double getFlushAvgMillis() {
+        return flushAvgMillis;
+    }
+
+    public void setFlushAvgMillis(double flushAvgMillis) {
+        this.flushAvgMillis = flushAvgMillis;
+    }
+
+    public double getFlushMaxMillis() {
+        return flushMaxMillis;
+    }
+
+    public void setFlushMaxMillis(double flushMaxMillis) {
+        this.flushMaxMillis = flushMaxMillis;
+    }
+}
@@ -0,0 +1,61 @@
+package hotel.dto;
+
+import java.time.LocalDateTime;
+
+public class HotelCountersDto {
+
+    private long totalRooms;
+    private long freeRooms;
+    private long occupiedRooms;
+    private long maintenanceRooms;
+    private long guests;
+    private LocalDateTime reconciledAt;
+
+    public long getTotalRooms() {
+        return totalRooms;
+    }
+
+    public void setTotalRooms(long totalRooms) {
+        this.totalRooms = totalRooms;
+    }
+
+    public long getFreeRooms() {
+        return freeRooms;
+    }
+
+    public void setFreeRooms(long freeRooms) {
+        this.freeRooms = freeRooms;
+    }
+
+    public long getOccupiedRooms() {
+        return occupiedRooms;
+    }
+
+    public void setOccupiedRooms(long occupiedRooms) {
+        this.occupiedRooms = occupiedRooms;
+    }
+
+    public long getMaintenanceRooms() {
+        return maintenanceRooms;
+    }
+
+    public void setMaintenanceRooms(long maintenanceRooms) {
+        this.maintenanceRooms = maintenanceRooms;
+    }
+
+    public long getGuests() {
+        return guests;
+    }
+
+    public void setGuests(long guests) {
+        this.guests = guests;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
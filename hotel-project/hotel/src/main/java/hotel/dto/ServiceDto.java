@@ -7,6 +7,16 @@ public class ServiceDto {
     private String description;
     private double price;
 
+    public ServiceDto() {
+    }
+
+    public ServiceDto(Long id, String name, String description, Double price) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+    }
+
     public Long getId() {
         return id;
     }
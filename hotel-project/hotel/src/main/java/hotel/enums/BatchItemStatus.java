@@ -0,0 +1,11 @@
+package hotel.enums;
+
+/**
+ * Результат обработки одного элемента пакетного запроса.
+ */
+public enum BatchItemStatus {
+
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
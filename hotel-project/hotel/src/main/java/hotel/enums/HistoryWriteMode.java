@@ -0,0 +1,14 @@
+package hotel.enums;
+
+/**
+ * Режим записи истории проживания.
+ */
+public enum HistoryWriteMode {
+
+    /** Запись в транзакции запроса. */
+    SYNC,
+    /** Фоновая пакетная запись после фиксации транзакции. */
+    ASYNC,
+    /** Фоновая пакетная запись с журналом на диске, сбрасываемым через fsync. */
+    ASYNC_JOURNAL
+}
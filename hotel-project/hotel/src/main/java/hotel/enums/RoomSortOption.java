@@ -1,5 +1,6 @@
 package hotel.enums;
 
+import hotel.cache.RoomSnapshot;
 import hotel.model.Room;
 import hotel.service.RoomManager;
 
@@ -12,17 +13,26 @@ import java.util.Comparator;
  */
 public enum RoomSortOption {
 
-    BY_NUMBER(Comparator.comparingInt(Room::getNumber)),
-    BY_PRICE(Comparator.comparingDouble(Room::getPrice)),
-    BY_STARS(Comparator.comparingInt(Room::getStars).reversed());
+    BY_NUMBER(Comparator.comparingInt(Room::getNumber),
+            Comparator.comparingInt(RoomSnapshot::getNumber)),
+    BY_PRICE(Comparator.comparingDouble(Room::getPrice),
+            Comparator.comparingDouble(RoomSnapshot::getPrice)),
+    BY_STARS(Comparator.comparingInt(Room::getStars).reversed(),
+            Comparator.comparingInt(RoomSnapshot::getStars).reversed());
 
     private final Comparator<Room> comparator;
+    private final Comparator<RoomSnapshot> snapshotComparator;
 
-    RoomSortOption(Comparator<Room> comparator) {
+    RoomSortOption(Comparator<Room> comparator, Comparator<RoomSnapshot> snapshotComparator) {
         this.comparator = comparator;
+        this.snapshotComparator = snapshotComparator;
     }
 
     public Comparator<Room> getComparator() {
         return comparator;
     }
+
+    public Comparator<RoomSnapshot> getSnapshotComparator() {
+        return snapshotComparator;
+    }
 }
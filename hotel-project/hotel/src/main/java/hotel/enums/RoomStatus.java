@@ -0,0 +1,12 @@
+package hotel.enums;
+
+/**
+ * Состояние номера для учёта номерного фонда.
+ * Номер на обслуживании не может быть занят, поэтому состояния не пересекаются.
+ */
+public enum RoomStatus {
+
+    FREE,
+    OCCUPIED,
+    MAINTENANCE
+}
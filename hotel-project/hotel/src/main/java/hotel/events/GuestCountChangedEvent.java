@@ -0,0 +1,19 @@
+package hotel.events;
+
+/**
+ * Событие изменения количества гостей.
+ * Публикуется менеджером гостей после регистрации или удаления гостей
+ * и обрабатывается слушателями после фиксации транзакции.
+ */
+public class GuestCountChangedEvent {
+
+    private final int delta;
+
+    public GuestCountChangedEvent(int delta) {
+        this.delta = delta;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+}
@@ -0,0 +1,21 @@
+package hotel.events;
+
+import hotel.cache.RoomSnapshot;
+
+/**
+ * Событие изменения состояния номера.
+ * Публикуется менеджером комнат после каждой мутации номера
+ * и обрабатывается слушателями после фиксации транзакции.
+ */
+public class RoomChangedEvent {
+
+    private final RoomSnapshot room;
+
+    public RoomChangedEvent(RoomSnapshot room) {
+        this.room = room;
+    }
+
+    public RoomSnapshot getRoom() {
+        return room;
+    }
+}
@@ -0,0 +1,23 @@
+package hotel.events;
+
+import hotel.cache.RoomSnapshot;
+
+import java.util.List;
+
+/**
+ * Событие пакетного добавления номеров.
+ * Позволяет слушателям применить все номера одним изменением
+ * вместо отдельного {@link RoomChangedEvent} на каждый номер.
+ */
+public class RoomsAddedEvent {
+
+    private final List<RoomSnapshot> rooms;
+
+    public RoomsAddedEvent(List<RoomSnapshot> rooms) {
+        this.rooms = List.copyOf(rooms);
+    }
+
+    public List<RoomSnapshot> getRooms() {
+        return rooms;
+    }
+}
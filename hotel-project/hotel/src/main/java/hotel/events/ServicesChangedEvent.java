@@ -0,0 +1,19 @@
+package hotel.events;
+
+/**
+ * Событие изменения каталога услуг.
+ * Публикуется менеджером услуг после добавления услуги или изменения её цены
+ * и обрабатывается слушателями после фиксации транзакции.
+ */
+public class ServicesChangedEvent {
+
+    private final String serviceName;
+
+    public ServicesChangedEvent(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+}
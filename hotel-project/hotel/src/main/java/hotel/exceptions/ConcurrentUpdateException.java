@@ -0,0 +1,13 @@
+package hotel.exceptions;
+
+/**
+ * Исключение, выбрасываемое, когда операция не удалась после всех повторов
+ * из-за параллельного изменения тех же данных.
+ */
+public class ConcurrentUpdateException extends HotelException {
+
+    public ConcurrentUpdateException(String operation, int attempts, Throwable cause) {
+        super("Операция " + operation + " не выполнена из-за параллельного изменения данных, попыток: "
+                + attempts, cause);
+    }
+}
@@ -8,7 +8,13 @@ import hotel.exceptions.guests.GuestAlreadyCheckedInException;
 import hotel.exceptions.guests.GuestException;
 import hotel.exceptions.guests.GuestNotCheckedInException;
 import hotel.exceptions.guests.GuestNotFoundException;
+import hotel.exceptions.idempotency.IdempotencyKeyInProgressException;
+import hotel.exceptions.idempotency.IdempotencyKeyReusedException;
+import hotel.exceptions.reservations.ReservationConflictException;
+import hotel.exceptions.reservations.ReservationException;
+import hotel.exceptions.reservations.ReservationNotFoundException;
 import hotel.exceptions.rooms.RoomAlreadyExistsException;
+import hotel.exceptions.rooms.RoomBusyException;
 import hotel.exceptions.rooms.RoomCapacityExceededException;
 import hotel.exceptions.rooms.RoomException;
 import hotel.exceptions.rooms.RoomNotFoundException;
@@ -34,7 +40,8 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({
             GuestNotFoundException.class,
             RoomNotFoundException.class,
-            ServiceNotFoundException.class
+            ServiceNotFoundException.class,
+            ReservationNotFoundException.class
     })
     public ResponseEntity<ErrorResponse> handleNotFoundException(RuntimeException ex) {
         log.warn("Ресурс не найден: {}", ex.getMessage());
@@ -49,7 +56,12 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({
             RoomAlreadyExistsException.class,
             GuestAlreadyCheckedInException.class,
-            ServiceAlreadyExistsException.class
+            ServiceAlreadyExistsException.class,
+            ReservationConflictException.class,
+            ConcurrentUpdateException.class,
+            RoomBusyException.class,
+            IdempotencyKeyReusedException.class,
+            IdempotencyKeyInProgressException.class
     })
     public ResponseEntity<ErrorResponse> handleConflictException(RuntimeException ex) {
         log.warn("Конфликт: {}", ex.getMessage());
@@ -85,7 +97,8 @@ public class GlobalExceptionHandler {
             DatabaseConfigurationException.class,
             RoomException.class,
             GuestException.class,
-            ServiceException.class
+            ServiceException.class,
+            ReservationException.class
     })
     public ResponseEntity<ErrorResponse> handleServerException(RuntimeException ex) {
         log.error("Ошибка сервера: {}", ex.getMessage(), ex);
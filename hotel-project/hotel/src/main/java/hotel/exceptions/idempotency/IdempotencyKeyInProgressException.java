@@ -0,0 +1,10 @@
+package hotel.exceptions.idempotency;
+
+import hotel.exceptions.HotelException;
+
+public class IdempotencyKeyInProgressException extends HotelException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super("Запрос с ключом идемпотентности " + key + " ещё выполняется, повторите запрос позже");
+    }
+}
@@ -0,0 +1,10 @@
+package hotel.exceptions.idempotency;
+
+import hotel.exceptions.HotelException;
+
+public class IdempotencyKeyReusedException extends HotelException {
+
+    public IdempotencyKeyReusedException(String key) {
+        super("Ключ идемпотентности " + key + " уже использован для другого запроса");
+    }
+}
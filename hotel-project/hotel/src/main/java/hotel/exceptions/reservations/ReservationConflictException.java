@@ -0,0 +1,10 @@
+package hotel.exceptions.reservations;
+
+import java.time.LocalDate;
+
+public class ReservationConflictException extends ReservationException {
+
+    public ReservationConflictException(int roomNumber, LocalDate from, LocalDate to) {
+        super("Комната " + roomNumber + " уже занята в период с " + from + " по " + to);
+    }
+}
@@ -0,0 +1,17 @@
+package hotel.exceptions.reservations;
+
+import hotel.exceptions.HotelException;
+
+/**
+ * Исключения, связанные с операциями над бронированиями.
+ */
+public class ReservationException extends HotelException {
+
+    public ReservationException(String message) {
+        super(message);
+    }
+
+    public ReservationException(String message, Exception e) {
+        super(message, e);
+    }
+}
@@ -0,0 +1,8 @@
+package hotel.exceptions.reservations;
+
+public class ReservationNotFoundException extends ReservationException {
+
+    public ReservationNotFoundException(long reservationId) {
+        super("Бронирование с ID " + reservationId + " не найдено");
+    }
+}
@@ -0,0 +1,8 @@
+package hotel.exceptions.rooms;
+
+public class RoomBusyException extends RoomException {
+
+    public RoomBusyException(int roomNumber) {
+        super("Комната " + roomNumber + " изменяется другой операцией, повторите запрос позже");
+    }
+}
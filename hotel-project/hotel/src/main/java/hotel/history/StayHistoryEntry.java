@@ -0,0 +1,44 @@
+package hotel.history;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запись истории проживания, ожидающая сохранения в БД.
+ * Время записи фиксируется в момент события, а не в момент сброса в БД.
+ * Порядковый номер присваивается журналом и используется, чтобы не воспроизводить
+ * уже сохранённые записи; без журнала он равен 0.
+ */
+public final class StayHistoryEntry {
+
+    private final long sequence;
+    private final long roomId;
+    private final String entry;
+    private final LocalDateTime createdAt;
+
+    public StayHistoryEntry(long roomId, String entry, LocalDateTime createdAt) {
+        this(0, roomId, entry, createdAt);
+    }
+
+    public StayHistoryEntry(long sequence, long roomId, String entry, LocalDateTime createdAt) {
+        this.sequence = sequence;
+        this.roomId = roomId;
+        this.entry = entry;
+        this.createdAt = createdAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getRoomId() {
+        return roomId;
+    }
+
+    public String getEntry() {
+        return entry;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
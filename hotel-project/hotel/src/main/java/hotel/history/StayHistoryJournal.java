@@ -0,0 +1,144 @@
+package hotel.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Журнал записей истории, ещё не сохранённых в БД.
+ * Каждая запись получает порядковый номер, дописывается в файл строкой
+ * и сбрасывается на диск через fsync. После сохранения пакета в БД (или отката
+ * транзакции, породившей запись) в журнал дописывается строка с номерами
+ * завершённых записей, поэтому при запуске воспроизводятся только записи,
+ * которые ещё не сохранены. Журнал очищается, когда незавершённых записей нет.
+ * Формат строк, поля разделены табуляцией:
+ * {@code E, номер, roomId, время записи, текст} - запись истории;
+ * {@code D, номера через запятую} - завершённые записи.
+ * Табуляция, перевод строки и обратная косая черта в тексте экранируются.
+ * Класс не потокобезопасен, синхронизация выполняется вызывающей стороной.
+ */
+final class StayHistoryJournal implements AutoCloseable {
+
+    private static final String ENTRY = "E";
+    private static final String DONE = "D";
+
+    private final Path path;
+    private final FileChannel channel;
+    private long lastSequence;
+
+    StayHistoryJournal(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Читает записи, оставшиеся в журнале после предыдущего запуска
+     * и не отмеченные как завершённые. Нумерация новых записей продолжается
+     * после наибольшего номера в журнале.
+     * Неполная последняя строка, оборванная при аварийной остановке, пропускается.
+     * @return незавершённые записи в порядке добавления
+     */
+    List<StayHistoryEntry> readPending() throws IOException {
+        Map<Long, StayHistoryEntry> entries = new LinkedHashMap<>();
+        String content = Files.readString(path, StandardCharsets.UTF_8);
+        int lineStart = 0;
+        int lineEnd;
+        while ((lineEnd = content.indexOf('\n', lineStart)) >= 0) {
+            String[] fields = content.substring(lineStart, lineEnd).split("\t", 5);
+            if (fields.length == 5 && ENTRY.equals(fields[0])) {
+                long sequence = Long.parseLong(fields[1]);
+                entries.put(sequence, new StayHistoryEntry(sequence, Long.parseLong(fields[2]),
+                        unescape(fields[4]), LocalDateTime.parse(fields[3])));
+                lastSequence = Math.max(lastSequence, sequence);
+            } else if (fields.length == 2 && DONE.equals(fields[0])) {
+                for (String sequence : fields[1].split(",")) {
+                    entries.remove(Long.parseLong(sequence));
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Присваивает записи следующий порядковый номер, дописывает её в журнал
+     * и дожидается сброса на диск.
+     * @param roomId идентификатор комнаты
+     * @param entry текст записи
+     * @param createdAt время записи
+     * @return запись с присвоенным номером
+     */
+    StayHistoryEntry append(long roomId, String entry, LocalDateTime createdAt) throws IOException {
+        StayHistoryEntry journaled = new StayHistoryEntry(++lastSequence, roomId, entry, createdAt);
+        write(ENTRY + "\t" + journaled.getSequence() + "\t" + roomId + "\t" + createdAt + "\t" + escape(entry) + "\n");
+        return journaled;
+    }
+
+    /**
+     * Отмечает записи как завершённые: при запуске они не воспроизводятся.
+     * @param entries сохранённые в БД или отменённые записи
+     */
+    void markDone(List<StayHistoryEntry> entries) throws IOException {
+        String sequences = entries.stream()
+                .filter(entry -> entry.getSequence() > 0)
+                .map(entry -> String.valueOf(entry.getSequence()))
+                .collect(Collectors.joining(","));
+        if (!sequences.isEmpty()) {
+            write(DONE + "\t" + sequences + "\n");
+        }
+    }
+
+    /**
+     * Очищает журнал после сохранения всех записей в БД.
+     */
+    void truncate() throws IOException {
+        channel.truncate(0);
+        channel.force(false);
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void write(String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
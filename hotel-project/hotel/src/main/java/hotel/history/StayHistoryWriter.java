@@ -0,0 +1,457 @@
+package hotel.history;
+
+import hotel.config.HistoryConfigurationService;
+import hotel.db.interfaces.StayHistoryRepository;
+import hotel.dto.HistoryWriterStatsDto;
+import hotel.enums.HistoryWriteMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Запись истории проживания.
+ * В режиме SYNC запись выполняется в транзакции запроса. В асинхронных режимах
+ * запись после фиксации транзакции помещается в ограниченную очередь, а фоновый
+ * поток сохраняет накопленные записи пакетами в отдельной транзакции: пакет
+ * отправляется, когда набрано history.batch.size записей или прошло
+ * history.flush.interval.ms с момента первой записи пакета. При заполненной
+ * очереди поток запроса ждёт не дольше history.enqueue.timeout.ms, после чего
+ * сохраняет запись сам в отдельной транзакции: постановка в очередь выполняется
+ * после фиксации, пока удерживается блокировка номера, и не должна задерживать
+ * её надолго. Такая запись может попасть в БД раньше записей номера, ещё
+ * ожидающих в очереди. Записи, которые не удалось сохранить и так, учитываются
+ * в счётчике hotel.history.dropped. Пакет, который не удалось
+ * сохранить, повторяется через history.flush.interval.ms раньше следующих,
+ * поэтому порядок записей каждого номера сохраняется.
+ * В режиме ASYNC_JOURNAL запись сохраняется в журнал на диске перед фиксацией
+ * транзакции запроса: ошибка журнала откатывает транзакцию, а зафиксированная
+ * запись переживает аварийную остановку и воспроизводится при запуске.
+ * Если остановка произошла во время фиксации, запись может быть воспроизведена
+ * и для транзакции, которая не успела зафиксироваться.
+ * История номера становится видна в БД после сброса пакета.
+ */
+@Component
+public class StayHistoryWriter {
+
+    static final String QUEUE_DEPTH = "hotel.history.queue.depth";
+    static final String RETRY_DEPTH = "hotel.history.retry.depth";
+    static final String FLUSH = "hotel.history.flush";
+    static final String DIRECT = "hotel.history.direct";
+    static final String DROPPED = "hotel.history.dropped";
+
+    private static final Logger log = LoggerFactory.getLogger(StayHistoryWriter.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final StayHistoryRepository stayHistoryRepository;
+    private final HistoryConfigurationService historyConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate directTransactionTemplate;
+    private final BlockingQueue<StayHistoryEntry> queue;
+    private final Deque<List<StayHistoryEntry>> backlog = new ArrayDeque<>();
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final AtomicInteger journaledNotQueued = new AtomicInteger();
+    private final AtomicInteger backlogSize = new AtomicInteger();
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAccumulator flushMaxNanos = new LongAccumulator(Math::max, 0);
+    private final Timer flushTimer;
+    private final Counter directCounter;
+    private final Counter droppedCounter;
+
+    private StayHistoryJournal journal;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    public StayHistoryWriter(StayHistoryRepository stayHistoryRepository,
+                             HistoryConfigurationService historyConfig,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.stayHistoryRepository = stayHistoryRepository;
+        this.historyConfig = historyConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.directTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(historyConfig.getQueueCapacity());
+        this.flushTimer = Timer.builder(FLUSH)
+                .description("Сохранение пакета истории проживания в БД")
+                .register(meterRegistry);
+        this.directCounter = Counter.builder(DIRECT)
+                .description("Записи истории, сохранённые потоком запроса из-за заполненной очереди")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder(DROPPED)
+                .description("Записи истории, которые не удалось ни поставить в очередь, ни сохранить")
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_DEPTH, queue, BlockingQueue::size)
+                .description("Записи истории в очереди на сохранение")
+                .register(meterRegistry);
+        Gauge.builder(RETRY_DEPTH, backlogSize, AtomicInteger::get)
+                .description("Записи истории из несохранённых пакетов, ожидающие повтора")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Воспроизводит журнал, оставшийся после предыдущего запуска,
+     * и запускает фоновый поток записи.
+     * Записи журнала, которые не удалось сохранить, повторяет фоновый поток.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        HistoryWriteMode mode = historyConfig.getWriteMode();
+        if (mode == HistoryWriteMode.SYNC) {
+            return;
+        }
+        if (mode == HistoryWriteMode.ASYNC_JOURNAL) {
+            journal = new StayHistoryJournal(Path.of(historyConfig.getJournalPath()));
+            replayJournal();
+        }
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "stay-history-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Фоновая запись истории запущена, режим: {}, размер пакета: {}, интервал сброса: {} мс",
+                mode, historyConfig.getBatchSize(), historyConfig.getFlushIntervalMs());
+    }
+
+    /**
+     * Добавляет запись в историю проживания номера.
+     * В асинхронных режимах запись ставится в очередь после фиксации текущей
+     * транзакции и не сохраняется, если транзакция откатилась; в режиме
+     * ASYNC_JOURNAL она до фиксации сохраняется в журнал.
+     * @param roomId идентификатор комнаты
+     * @param entry текст записи
+     * @throws UncheckedIOException если запись не удалось сохранить в журнал
+     */
+    public void append(long roomId, String entry) {
+        if (historyConfig.getWriteMode() == HistoryWriteMode.SYNC) {
+            stayHistoryRepository.addEntry(roomId, entry);
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(journal(roomId, entry, createdAt));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private StayHistoryEntry historyEntry;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                historyEntry = journal(roomId, entry, createdAt);
+            }
+
+            @Override
+            public void afterCommit() {
+                enqueue(historyEntry);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED && historyEntry != null && historyEntry.getSequence() > 0) {
+                    cancel(historyEntry);
+                }
+            }
+        });
+    }
+
+    /**
+     * Возвращает состояние очереди и статистику сброса пакетов.
+     * @return статистика записи истории
+     */
+    public HistoryWriterStatsDto getStats() {
+        HistoryWriterStatsDto stats = new HistoryWriterStatsDto();
+        stats.setMode(historyConfig.getWriteMode());
+        stats.setQueueDepth(queue.size());
+        stats.setQueueCapacity(historyConfig.getQueueCapacity());
+        stats.setEnqueuedCount(enqueuedCount.sum());
+        stats.setWrittenCount(writtenCount.sum());
+        stats.setFailedCount(failedCount.sum());
+        stats.setDirectCount((long) directCounter.count());
+        stats.setDroppedCount((long) droppedCounter.count());
+        stats.setFlushCount(flushTimer.count());
+        stats.setFlushAvgMillis(flushTimer.mean(TimeUnit.MILLISECONDS));
+        stats.setFlushMaxMillis(flushMaxNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    /**
+     * Останавливает фоновый поток и сохраняет оставшиеся в очереди записи.
+     * Несохранённые записи остаются в журнале до следующего запуска.
+     */
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.join(SHUTDOWN_TIMEOUT_MS);
+
+        List<StayHistoryEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        addToBacklog(remaining);
+        if (!flushBacklog()) {
+            log.error("При остановке не сохранено записей истории: {}{}", backlogSize.get(),
+                    journal != null ? ", они будут воспроизведены из журнала" : "");
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        log.info("Фоновая запись истории остановлена, сохранено записей при остановке: {}", remaining.size());
+    }
+
+    /**
+     * Сохраняет запись в журнал, если он используется.
+     * Запись учитывается как незавершённая, пока не поставлена в очередь
+     * или не отменена, и журнал до этого не очищается.
+     */
+    private StayHistoryEntry journal(long roomId, String entry, LocalDateTime createdAt) {
+        if (journal == null) {
+            return new StayHistoryEntry(roomId, entry, createdAt);
+        }
+        journalLock.lock();
+        try {
+            StayHistoryEntry journaled = journal.append(roomId, entry, createdAt);
+            journaledNotQueued.incrementAndGet();
+            return journaled;
+        } catch (IOException e) {
+            log.error("Ошибка записи в журнал истории, комната ID {}", roomId, e);
+            throw new UncheckedIOException(e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Ставит запись в очередь, ожидая место не дольше history.enqueue.timeout.ms.
+     * Если очередь так и не освободилась или ожидание прервано, запись сохраняется
+     * в БД потоком запроса.
+     */
+    private void enqueue(StayHistoryEntry entry) {
+        boolean interrupted = false;
+        boolean queued = false;
+        try {
+            queued = queue.offer(entry, historyConfig.getEnqueueTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        if (queued) {
+            enqueuedCount.increment();
+            if (entry.getSequence() > 0) {
+                journaledNotQueued.decrementAndGet();
+            }
+            return;
+        }
+        try {
+            writeDirectly(entry);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Сохраняет запись в отдельной транзакции. Запись, которую не удалось
+     * сохранить, учитывается как потерянная; записанная в журнал остаётся
+     * в нём незавершённой и будет воспроизведена при следующем запуске.
+     */
+    private void writeDirectly(StayHistoryEntry entry) {
+        try {
+            directTransactionTemplate.executeWithoutResult(
+                    status -> stayHistoryRepository.addEntries(List.of(entry)));
+        } catch (RuntimeException e) {
+            droppedCounter.increment();
+            log.error("Очередь истории заполнена, запись не сохранена, комната ID {}{}", entry.getRoomId(),
+                    entry.getSequence() > 0 ? ", она будет воспроизведена из журнала" : "", e);
+            return;
+        }
+        directCounter.increment();
+        writtenCount.increment();
+        if (entry.getSequence() > 0) {
+            markDone(List.of(entry));
+            journaledNotQueued.decrementAndGet();
+        }
+        log.debug("Очередь истории заполнена, запись сохранена потоком запроса, комната ID {}", entry.getRoomId());
+    }
+
+    private void cancel(StayHistoryEntry entry) {
+        journalLock.lock();
+        try {
+            journal.markDone(List.of(entry));
+        } catch (IOException e) {
+            log.error("Ошибка отметки отменённой записи в журнале истории, комната ID {}", entry.getRoomId(), e);
+        } finally {
+            journaledNotQueued.decrementAndGet();
+            journalLock.unlock();
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                if (backlog.isEmpty()) {
+                    addToBacklog(nextBatch());
+                }
+                if (!flushBacklog()) {
+                    TimeUnit.MILLISECONDS.sleep(historyConfig.getFlushIntervalMs());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ожидает первую запись пакета и добирает пакет до history.batch.size записей
+     * в течение history.flush.interval.ms.
+     */
+    private List<StayHistoryEntry> nextBatch() throws InterruptedException {
+        List<StayHistoryEntry> batch = new ArrayList<>();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(historyConfig.getFlushIntervalMs());
+        StayHistoryEntry first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + intervalNanos;
+        while (batch.size() < historyConfig.getBatchSize()) {
+            queue.drainTo(batch, historyConfig.getBatchSize() - batch.size());
+            long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= historyConfig.getBatchSize() || remainingNanos <= 0) {
+                break;
+            }
+            StayHistoryEntry next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void addToBacklog(List<StayHistoryEntry> entries) {
+        for (int from = 0; from < entries.size(); from += historyConfig.getBatchSize()) {
+            List<StayHistoryEntry> batch =
+                    entries.subList(from, Math.min(entries.size(), from + historyConfig.getBatchSize()));
+            backlog.addLast(batch);
+            backlogSize.addAndGet(batch.size());
+        }
+    }
+
+    /**
+     * Сохраняет накопленные пакеты по порядку. Пакет, который не удалось
+     * сохранить, остаётся первым и будет повторён.
+     * Вызывается только фоновым потоком, а до его запуска и после остановки - потоком жизненного цикла.
+     * @return true, если сохранены все пакеты
+     */
+    private boolean flushBacklog() {
+        while (!backlog.isEmpty()) {
+            List<StayHistoryEntry> batch = backlog.peekFirst();
+            if (!flush(batch)) {
+                return false;
+            }
+            backlog.pollFirst();
+            backlogSize.addAndGet(-batch.size());
+        }
+        truncateJournalIfDrained();
+        return true;
+    }
+
+    private boolean flush(List<StayHistoryEntry> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> stayHistoryRepository.addEntries(batch));
+        } catch (RuntimeException e) {
+            failedCount.add(batch.size());
+            log.error("Не удалось сохранить пакет истории проживания, записей: {}, пакет будет повторён",
+                    batch.size(), e);
+            return false;
+        }
+        long elapsed = System.nanoTime() - start;
+        flushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        flushMaxNanos.accumulate(elapsed);
+        writtenCount.add(batch.size());
+        markDone(batch);
+        return true;
+    }
+
+    /**
+     * Отмечает сохранённый пакет в журнале, чтобы он не воспроизводился при запуске.
+     */
+    private void markDone(List<StayHistoryEntry> batch) {
+        if (journal == null) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            journal.markDone(batch);
+        } catch (IOException e) {
+            log.error("Ошибка отметки сохранённого пакета в журнале истории, записей: {}", batch.size(), e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /**
+     * Очищает журнал, если все записанные в него записи сохранены или отменены:
+     * очередь и пакеты для повтора пусты и нет записей, ожидающих фиксации транзакции.
+     * Новые записи добавляются в журнал под той же блокировкой, поэтому не теряются.
+     */
+    private void truncateJournalIfDrained() {
+        if (journal == null) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            if (journaledNotQueued.get() == 0 && queue.isEmpty() && backlog.isEmpty() && journal.size() > 0) {
+                journal.truncate();
+            }
+        } catch (IOException e) {
+            log.error("Ошибка очистки журнала истории", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        List<StayHistoryEntry> entries = journal.readPending();
+        if (entries.isEmpty()) {
+            truncateJournalIfDrained();
+            return;
+        }
+        log.info("Воспроизведение журнала истории, записей: {}", entries.size());
+        addToBacklog(entries);
+        flushBacklog();
+    }
+}
@@ -0,0 +1,271 @@
+package hotel.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import hotel.config.IdempotencyConfigurationService;
+import hotel.db.interfaces.IdempotencyRepository;
+import hotel.exceptions.HotelException;
+import hotel.exceptions.ValidationException;
+import hotel.exceptions.idempotency.IdempotencyKeyInProgressException;
+import hotel.exceptions.idempotency.IdempotencyKeyReusedException;
+import hotel.model.IdempotencyRecord;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Выполнение запросов с заголовком Idempotency-Key.
+ * Первый запрос с ключом выполняет операцию, и её ответ сохраняется в памяти
+ * (не более idempotency.cache.max.size ответов) и в таблице idempotency_keys.
+ * Повторы в течение idempotency.ttl.seconds получают сохранённый ответ без
+ * выполнения операции. Повтор, пришедший, пока первый запрос ещё выполняется,
+ * ожидает его результата, в том числе ошибки. Ответ сохраняется только при
+ * успешном выполнении, после ошибки запрос с тем же ключом выполняется заново.
+ * Ожидание выполняющегося запроса работает в пределах узла.
+ */
+@Component
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final String REQUESTS = "hotel.idempotency.requests";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long PURGE_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final IdempotencyConfigurationService idempotencyConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, IdempotencyRecord> responses;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    public IdempotencyService(IdempotencyRepository idempotencyRepository,
+                              IdempotencyConfigurationService idempotencyConfig,
+                              PlatformTransactionManager transactionManager,
+                              JsonMapper jsonMapper,
+                              MeterRegistry meterRegistry) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.idempotencyConfig = idempotencyConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(idempotencyConfig.getCacheMaxSize())
+                .expireAfter(Expiry.creating((String key, IdempotencyRecord record) ->
+                        Duration.between(LocalDateTime.now(), expiresAt(record))))
+                .build();
+    }
+
+    /**
+     * Удаляет ответы, срок хранения которых истёк, пока приложение не работало.
+     */
+    @PostConstruct
+    public void init() {
+        purgeExpired();
+    }
+
+    /**
+     * Выполняет операцию или возвращает сохранённый ответ на запрос с тем же ключом.
+     * @param key значение заголовка Idempotency-Key, null - операция выполняется без сохранения ответа
+     * @param operation имя операции, входит в хеш запроса
+     * @param request тело запроса
+     * @param bodyType тип тела ответа для восстановления сохранённого ответа
+     * @param action операция
+     * @return ответ операции или сохранённый ответ с заголовком Idempotent-Replayed
+     * @throws IdempotencyKeyReusedException если ключ уже использован с другим запросом
+     * @throws IdempotencyKeyInProgressException если запрос с ключом выполняется дольше idempotency.wait.timeout.ms
+     */
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Заголовок " + HEADER + " должен содержать от 1 до "
+                    + MAX_KEY_LENGTH + " символов");
+        }
+
+        String requestHash = hash(operation, request);
+        IdempotencyRecord stored = findStored(key);
+        if (stored != null) {
+            return replay(key, operation, stored, requestHash, bodyType, "REPLAYED");
+        }
+
+        InFlight current = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, current);
+        if (running != null) {
+            return join(key, operation, running, requestHash, bodyType);
+        }
+
+        try {
+            // Запрос с тем же ключом мог завершиться между проверкой и регистрацией
+            stored = findStored(key);
+            if (stored != null) {
+                current.result().complete(stored);
+                return replay(key, operation, stored, requestHash, bodyType, "REPLAYED");
+            }
+
+            ResponseEntity<T> response = action.get();
+            IdempotencyRecord record = new IdempotencyRecord(key, requestHash,
+                    response.getStatusCode().value(), jsonMapper.writeValueAsString(response.getBody()));
+            store(record);
+            current.result().complete(record);
+            count(operation, "EXECUTED");
+            return response;
+        } catch (RuntimeException e) {
+            current.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, current);
+        }
+    }
+
+    private <T> ResponseEntity<T> join(String key, String operation, InFlight running, String requestHash,
+                                       Class<T> bodyType) {
+        if (!running.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+
+        IdempotencyRecord record;
+        try {
+            record = running.result().get(idempotencyConfig.getWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new HotelException("Ошибка выполнения запроса с ключом идемпотентности " + key, e.getCause());
+        }
+        return replay(key, operation, record, requestHash, bodyType, "JOINED");
+    }
+
+    private <T> ResponseEntity<T> replay(String key, String operation, IdempotencyRecord record,
+                                         String requestHash, Class<T> bodyType, String outcome) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        count(operation, outcome);
+        log.info("Повтор запроса с ключом идемпотентности {}, возвращается сохранённый ответ", key);
+        return ResponseEntity.status(record.getStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(jsonMapper.readValue(record.getBody(), bodyType));
+    }
+
+    private IdempotencyRecord findStored(String key) {
+        IdempotencyRecord record = responses.getIfPresent(key);
+        if (record == null) {
+            record = transactionTemplate.execute(status -> idempotencyRepository.findByKey(key, expiryBoundary()));
+            if (record != null) {
+                responses.put(key, record);
+            }
+        }
+        return record;
+    }
+
+    private void store(IdempotencyRecord record) {
+        responses.put(record.getKey(), record);
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRepository.save(record));
+        } catch (RuntimeException e) {
+            // Операция уже выполнена, ответ остаётся в памяти узла
+            log.warn("Не удалось сохранить ответ с ключом идемпотентности {}", record.getKey(), e);
+        }
+        purgeExpiredIfDue();
+    }
+
+    private void purgeExpiredIfDue() {
+        long now = System.currentTimeMillis();
+        long due = nextPurgeAt.get();
+        if (now >= due && nextPurgeAt.compareAndSet(due, now + PURGE_INTERVAL_MS)) {
+            purgeExpired();
+        }
+    }
+
+    private void purgeExpired() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    idempotencyRepository.deleteCreatedBefore(expiryBoundary()));
+            log.info("Удалено устаревших ключей идемпотентности: {}", deleted);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось удалить устаревшие ключи идемпотентности", e);
+        }
+    }
+
+    private LocalDateTime expiryBoundary() {
+        return LocalDateTime.now().minusSeconds(idempotencyConfig.getTtlSeconds());
+    }
+
+    private LocalDateTime expiresAt(IdempotencyRecord record) {
+        return record.getCreatedAt().plusSeconds(idempotencyConfig.getTtlSeconds());
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(jsonMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен", e);
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        meterRegistry.counter(REQUESTS, "operation", operation, "outcome", outcome).increment();
+    }
+
+    /**
+     * Выполняющийся запрос: хеш его тела и будущий сохранённый ответ.
+     */
+    private static final class InFlight {
+
+        private final String requestHash;
+        private final CompletableFuture<IdempotencyRecord> result;
+
+        private InFlight(String requestHash, CompletableFuture<IdempotencyRecord> result) {
+            this.requestHash = requestHash;
+            this.result = result;
+        }
+
+        private String requestHash() {
+            return requestHash;
+        }
+
+        private CompletableFuture<IdempotencyRecord> result() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package hotel.mapper;
+
+import hotel.dto.ReservationDto;
+import hotel.model.Reservation;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface ReservationMapper {
+
+    @Mapping(source = "guest.id", target = "guestId")
+    @Mapping(source = "room.number", target = "roomNumber")
+    @Mapping(source = "checkInDate", target = "checkIn")
+    @Mapping(source = "checkOutDate", target = "checkOut")
+    ReservationDto toDto(Reservation reservation);
+}
@@ -1,5 +1,6 @@
 package hotel.mapper;
 
+import hotel.cache.RoomSnapshot;
 import hotel.dto.CreateRoomDto;
 import hotel.dto.RoomDto;
 import hotel.model.Room;
@@ -9,5 +10,6 @@ import org.mapstruct.Mapper;
 public interface RoomMapper {
 
     RoomDto toDto(Room room);
+    RoomDto toDto(RoomSnapshot room);
     Room toEntity(CreateRoomDto dto);
 }
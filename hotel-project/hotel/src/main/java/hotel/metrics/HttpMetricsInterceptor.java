@@ -0,0 +1,81 @@
+package hotel.metrics;
+
+import hotel.config.MetricsConfigurationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Перехватчик, измеряющий время обработки REST-запросов.
+ * Таймер ведётся по методу HTTP, шаблону пути и коду ответа, поэтому
+ * запросы к /api/rooms/{roomNumber} с разными номерами попадают в один ряд.
+ * Ответы с кодом 4xx и 5xx дополнительно учитываются счётчиком ошибок.
+ * Для асинхронных запросов замер начинается при первой диспетчеризации
+ * и завершается после повторной (ASYNC), поэтому время ожидания результата
+ * входит в длительность запроса.
+ */
+@Component
+public class HttpMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String HTTP_REQUESTS = "hotel.http.requests";
+    static final String HTTP_ERRORS = "hotel.http.errors";
+
+    private static final String SAMPLE_ATTRIBUTE = HttpMetricsInterceptor.class.getName() + ".sample";
+
+    private final MeterRegistry meterRegistry;
+    private final MetricsConfigurationService metricsConfig;
+
+    public HttpMetricsInterceptor(MeterRegistry meterRegistry, MetricsConfigurationService metricsConfig) {
+        this.meterRegistry = meterRegistry;
+        this.metricsConfig = metricsConfig;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                && request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample) {
+            return true;
+        }
+        request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (!(request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        String outcome = outcome(status);
+
+        sample.stop(Timer.builder(HTTP_REQUESTS)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("status", String.valueOf(status))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(metricsConfig.isHistogramEnabled())
+                .register(meterRegistry));
+        if (status >= 400) {
+            meterRegistry.counter(HTTP_ERRORS,
+                    "method", request.getMethod(), "uri", uri, "status", String.valueOf(status)).increment();
+        }
+    }
+
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (status >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "SUCCESS";
+    }
+}
@@ -0,0 +1,61 @@
+package hotel.metrics;
+
+import hotel.config.MetricsConfigurationService;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Провайдер реестра метрик.
+ * Создаёт реестр Micrometer с выгрузкой в текстовом формате Prometheus
+ * и при необходимости регистрирует метрики JVM.
+ */
+@Component
+public class MeterRegistryProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(MeterRegistryProvider.class);
+
+    private final PrometheusMeterRegistry meterRegistry;
+    private JvmGcMetrics jvmGcMetrics;
+
+    public MeterRegistryProvider(MetricsConfigurationService metricsConfig) {
+        this.meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().commonTags("application", "hotel");
+
+        if (metricsConfig.isJvmEnabled()) {
+            new ClassLoaderMetrics().bindTo(meterRegistry);
+            new JvmMemoryMetrics().bindTo(meterRegistry);
+            new JvmThreadMetrics().bindTo(meterRegistry);
+            new ProcessorMetrics().bindTo(meterRegistry);
+            jvmGcMetrics = new JvmGcMetrics();
+            jvmGcMetrics.bindTo(meterRegistry);
+        }
+        log.info("Реестр метрик создан");
+    }
+
+    @Bean
+    public PrometheusMeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    /**
+     * Закрывает реестр метрик при уничтожении компонента.
+     */
+    @PreDestroy
+    public void close() {
+        if (jvmGcMetrics != null) {
+            jvmGcMetrics.close();
+        }
+        meterRegistry.close();
+        log.info("Реестр метрик закрыт");
+    }
+}
@@ -0,0 +1,65 @@
+package hotel.metrics;
+
+import hotel.config.MetricsConfigurationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Аспект, измеряющий время выполнения методов менеджеров и DAO.
+ * Для каждого метода ведётся таймер с тегами класса, метода и результата
+ * выполнения, а для завершившихся исключением вызовов - счётчик ошибок
+ * с типом исключения.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    static final String MANAGER_CALLS = "hotel.manager.calls";
+    static final String MANAGER_ERRORS = "hotel.manager.errors";
+    static final String DAO_CALLS = "hotel.dao.calls";
+    static final String DAO_ERRORS = "hotel.dao.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final MetricsConfigurationService metricsConfig;
+
+    public MetricsAspect(MeterRegistry meterRegistry, MetricsConfigurationService metricsConfig) {
+        this.meterRegistry = meterRegistry;
+        this.metricsConfig = metricsConfig;
+    }
+
+    @Around("execution(public * hotel.service.interfaces.*.*(..))")
+    public Object timeManager(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, MANAGER_CALLS, MANAGER_ERRORS);
+    }
+
+    @Around("execution(public * hotel.db.dao.jpa.Jpa*Dao.*(..))")
+    public Object timeDao(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, DAO_CALLS, DAO_ERRORS);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String timerName, String errorsName) throws Throwable {
+        String className = joinPoint.getTarget().getClass().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            meterRegistry.counter(errorsName,
+                    "class", className, "method", methodName, "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram(metricsConfig.isHistogramEnabled())
+                    .register(meterRegistry));
+        }
+    }
+}
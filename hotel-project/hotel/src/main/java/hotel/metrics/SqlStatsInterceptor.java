@@ -0,0 +1,107 @@
+package hotel.metrics;
+
+import hotel.config.MetricsConfigurationService;
+import hotel.db.SqlRequestStats;
+import hotel.db.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Перехватчик, считающий SQL-запросы и загрузки сущностей за HTTP-запрос.
+ * Количество запросов публикуется в метрику по шаблону пути. При превышении
+ * порогов пишется предупреждение, а многократный повтор одного SQL-запроса
+ * отмечается как возможная проблема N+1.
+ * Для асинхронных запросов измерение в потоке контейнера завершается при переходе
+ * в асинхронный режим, а метрики публикуются после повторной (ASYNC) диспетчеризации;
+ * SQL-запросы, выполненные в другом потоке, в них не попадают.
+ */
+@Component
+public class SqlStatsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsInterceptor.class);
+
+    static final String SQL_STATEMENTS = "hotel.http.sql.statements";
+    static final String ENTITY_LOADS = "hotel.http.entity.loads";
+
+    private static final String STATS_ATTRIBUTE = SqlStatsInterceptor.class.getName() + ".stats";
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+    private final MetricsConfigurationService metricsConfig;
+
+    public SqlStatsInterceptor(SqlStatementCounter sqlStatementCounter,
+                               MeterRegistry meterRegistry,
+                               MetricsConfigurationService metricsConfig) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+        this.metricsConfig = metricsConfig;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                && request.getAttribute(STATS_ATTRIBUTE) instanceof SqlRequestStats) {
+            return true;
+        }
+        request.setAttribute(STATS_ATTRIBUTE, sqlStatementCounter.begin());
+        return true;
+    }
+
+    /**
+     * Завершает измерение в потоке контейнера: afterCompletion для первой
+     * диспетчеризации асинхронного запроса не вызывается, и без этого счётчики
+     * остались бы в потоке и стали бы родителем для следующих запросов.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(STATS_ATTRIBUTE) instanceof SqlRequestStats stats) {
+            sqlStatementCounter.end(stats);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (!(request.getAttribute(STATS_ATTRIBUTE) instanceof SqlRequestStats stats)) {
+            return;
+        }
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            sqlStatementCounter.end(stats);
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(SQL_STATEMENTS)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        DistributionSummary.builder(ENTITY_LOADS)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getEntityLoadCount());
+
+        if (stats.getStatementCount() > metricsConfig.getSqlStatementsWarnThreshold()
+                || stats.getEntityLoadCount() > metricsConfig.getEntityLoadsWarnThreshold()) {
+            log.warn("Запрос {} {} выполнил SQL-запросов: {}, загрузил сущностей: {}",
+                    request.getMethod(), request.getRequestURI(), stats.getStatementCount(), stats.getEntityLoadCount());
+        }
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+        if (repeated != null && repeated.getValue() > metricsConfig.getSqlRepeatedWarnThreshold()) {
+            log.warn("Возможная проблема N+1: запрос {} {} выполнил одинаковый SQL-запрос {} раз: {}",
+                    request.getMethod(), request.getRequestURI(), repeated.getValue(), repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package hotel.metrics;
+
+import hotel.config.ThreadingConfigurationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Отслеживание закрепления виртуальных потоков за потоками-носителями.
+ * Пока виртуальный поток закреплён (блокировка внутри synchronized или нативного кадра),
+ * поток-носитель не может выполнять другие виртуальные потоки.
+ * При включённых виртуальных потоках слушает событие JFR jdk.VirtualThreadPinned:
+ * закрепления дольше server.virtual.threads.pinned.threshold.ms пишутся в журнал
+ * со стеком и учитываются в таймере hotel.virtual.threads.pinned.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 10;
+
+    private final ThreadingConfigurationService threadingConfig;
+    private final Timer pinnedTimer;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(ThreadingConfigurationService threadingConfig, MeterRegistry meterRegistry) {
+        this.threadingConfig = threadingConfig;
+        this.pinnedTimer = Timer.builder("hotel.virtual.threads.pinned")
+                .description("Закрепления виртуальных потоков за потоками-носителями")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Запускает чтение событий JFR, если включены виртуальные потоки.
+     */
+    @PostConstruct
+    public void start() {
+        if (!threadingConfig.isVirtualThreadsEnabled()) {
+            return;
+        }
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(threadingConfig.getPinnedThresholdMs()))
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Отслеживание закрепления виртуальных потоков запущено, порог: {} мс",
+                threadingConfig.getPinnedThresholdMs());
+    }
+
+    /**
+     * Останавливает чтение событий JFR.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        StringBuilder stack = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            for (RecordedFrame frame : frames.subList(0, Math.min(LOGGED_FRAMES, frames.size()))) {
+                stack.append("\n\tat ")
+                        .append(frame.getMethod().getType().getName())
+                        .append('.')
+                        .append(frame.getMethod().getName())
+                        .append(':')
+                        .append(frame.getLineNumber());
+            }
+        }
+        String thread = event.getThread() != null ? event.getThread().getJavaName() : "?";
+        log.warn("Виртуальный поток {} закреплён за потоком-носителем на {} мс{}",
+                thread, event.getDuration().toMillis(), stack);
+    }
+}
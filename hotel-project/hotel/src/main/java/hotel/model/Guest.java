@@ -11,11 +11,17 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.OptimisticLock;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Модель гостя отеля.
@@ -27,7 +33,8 @@ import java.util.Objects;
 public class Guest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guests_seq")
+    @SequenceGenerator(name = "guests_seq", sequenceName = "guests_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "age", nullable = false)
@@ -39,17 +46,25 @@ public class Guest {
     @Column(name = "second_name", nullable = false, length = 50)
     private String secondName;
 
+    @Column(name = "full_name_normalized", nullable = false, length = 101)
+    private String fullNameNormalized;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id")
     private Room room;
 
     @ManyToMany
+    @OptimisticLock(excluded = true)
     @JoinTable(
             name = "guest_services",
             joinColumns = @JoinColumn(name = "guest_id"),
             inverseJoinColumns = @JoinColumn(name = "service_id")
     )
-    private List<Service> services = new ArrayList<>();
+    private Set<Service> services = new HashSet<>();
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 
     public Guest() {
     }
@@ -61,19 +76,23 @@ public class Guest {
         this.secondName = secondName;
     }
 
-    public Guest(long id, int age, String firstName, String secondName, Room room, List<Service> services) {
+    public Guest(long id, int age, String firstName, String secondName, Room room, Set<Service> services) {
         this.id = id;
         this.age = age;
         this.firstName = firstName;
         this.secondName = secondName;
         this.room = room;
-        this.services = services != null ? new ArrayList<>(services) : new ArrayList<>();
+        this.services = services != null ? new HashSet<>(services) : new HashSet<>();
     }
 
     public long getId() {
         return id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public void setId(long id) {
         this.id = id;
     }
@@ -110,21 +129,39 @@ public class Guest {
         this.room = room;
     }
 
-    public List<Service> getServices() {
+    public Set<Service> getServices() {
         if (services == null) {
-            services = new ArrayList<>();
+            services = new HashSet<>();
         }
         return services;
     }
 
-    public void setServices(List<Service> services) {
-        this.services = services != null ? new ArrayList<>(services) : new ArrayList<>();
+    public void setServices(Set<Service> services) {
+        this.services = services != null ? new HashSet<>(services) : new HashSet<>();
     }
 
     public String getFullName() {
         return firstName + " " + secondName;
     }
 
+    /**
+     * Приводит полное имя к виду, в котором оно хранится в индексируемой колонке.
+     * @param fullName полное имя
+     * @return имя без внешних пробелов в нижнем регистре
+     */
+    public static String normalizeFullName(String fullName) {
+        return fullName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Обновляет нормализованное полное имя перед записью в БД.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateFullNameNormalized() {
+        this.fullNameNormalized = normalizeFullName(getFullName());
+    }
+
     public String getFullInfo() {
         return "ID - " + id + " | Постоялец: Имя - " + firstName + ", Фамилия - " + secondName
                 + ", Проживает в номере - " + (room != null ? room.getNumber() : "не заселён");
@@ -1,5 +1,6 @@
 package hotel.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -8,7 +9,13 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -22,12 +29,17 @@ import java.util.stream.Collectors;
  */
 @Entity
 @Table(name = "rooms")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rooms")
+@NaturalIdCache(region = "rooms-natural-id")
 public class Room {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = 50)
     private long id;
 
+    @NaturalId
     @Column(name = "number", unique = true, nullable = false)
     private int number;
 
@@ -58,6 +70,10 @@ public class Room {
     @Column(name = "check_out_date")
     private LocalDate checkOutDate;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Guest> guests = new ArrayList<>();
 
@@ -93,6 +109,10 @@ public class Room {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public int getNumber() {
         return number;
     }
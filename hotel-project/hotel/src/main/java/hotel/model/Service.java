@@ -1,28 +1,35 @@
 package hotel.model;
 
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Модель дополнительной услуги отеля.
  */
 @Entity
 @Table(name = "services")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "services")
 public class Service {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "services_seq")
+    @SequenceGenerator(name = "services_seq", sequenceName = "services_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "name", nullable = false, length = 100, unique = true)
@@ -38,7 +45,7 @@ public class Service {
     private LocalDate date;
 
     @ManyToMany(mappedBy = "services")
-    private List<Guest> guests = new ArrayList<>();
+    private Set<Guest> guests = new HashSet<>();
 
     public Service() { }
 
@@ -90,15 +97,15 @@ public class Service {
         this.date = date;
     }
 
-    public List<Guest> getGuests() {
+    public Set<Guest> getGuests() {
         if (guests == null) {
-            guests = new ArrayList<>();
+            guests = new HashSet<>();
         }
         return guests;
     }
 
-    public void setGuests(List<Guest> guests) {
-        this.guests = guests != null ? new ArrayList<>(guests) : new ArrayList<>();
+    public void setGuests(Set<Guest> guests) {
+        this.guests = guests != null ? new HashSet<>(guests) : new HashSet<>();
     }
 
     @Override
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.time.LocalDateTime;
@@ -19,7 +20,8 @@ import java.util.Objects;
 public class StayHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stay_history_seq")
+    @SequenceGenerator(name = "stay_history_seq", sequenceName = "stay_history_seq", allocationSize = 50)
     private long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,6 +34,12 @@ public class StayHistory {
     @Column(name = "entry_date", nullable = false)
     private LocalDateTime entryDate = LocalDateTime.now();
 
+    @Column(name = "slot", nullable = false)
+    private int slot;
+
+    @Column(name = "entry_position", nullable = false)
+    private long position;
+
     public StayHistory() { }
 
     public StayHistory(Room room, String entry) {
@@ -39,6 +47,13 @@ public class StayHistory {
         this.entry = entry;
     }
 
+    public StayHistory(Room room, String entry, int slot, long position) {
+        this.room = room;
+        this.entry = entry;
+        this.slot = slot;
+        this.position = position;
+    }
+
     public long getId() {
         return id;
     }
@@ -71,6 +86,22 @@ public class StayHistory {
         this.entryDate = entryDate;
     }
 
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
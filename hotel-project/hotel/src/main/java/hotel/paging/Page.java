@@ -0,0 +1,34 @@
+package hotel.paging;
+
+import java.util.List;
+
+/**
+ * Страница результатов keyset-пагинации.
+ * @param <T> тип элементов страницы
+ */
+public final class Page<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = List.copyOf(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Возвращает курсор следующей страницы.
+     * @return курсор или null, если страница последняя
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
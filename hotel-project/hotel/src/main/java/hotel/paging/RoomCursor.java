@@ -0,0 +1,83 @@
+package hotel.paging;
+
+import hotel.cache.RoomSnapshot;
+import hotel.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Курсор keyset-пагинации по номерам.
+ * Хранит ключи сортировки последнего номера страницы (номер, цену и звёзды),
+ * поэтому подходит для любого критерия сортировки. Клиенту передаётся
+ * в виде непрозрачной строки.
+ */
+public final class RoomCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final int number;
+    private final double price;
+    private final int stars;
+
+    private RoomCursor(int number, double price, int stars) {
+        this.number = number;
+        this.price = price;
+        this.stars = stars;
+    }
+
+    /**
+     * Создаёт курсор, указывающий на переданный номер.
+     * @param room последний номер страницы
+     * @return курсор
+     */
+    public static RoomCursor after(RoomSnapshot room) {
+        return new RoomCursor(room.getNumber(), room.getPrice(), room.getStars());
+    }
+
+    /**
+     * Восстанавливает курсор из строкового представления.
+     * @param value строка курсора, полученная клиентом
+     * @return курсор или null, если строка пустая
+     */
+    public static RoomCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new ValidationException("Некорректный курсор страницы: " + value);
+            }
+            return new RoomCursor(
+                    Integer.parseInt(parts[0]),
+                    Double.parseDouble(parts[1]),
+                    Integer.parseInt(parts[2])
+            );
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Некорректный курсор страницы: " + value);
+        }
+    }
+
+    /**
+     * Кодирует курсор в непрозрачную строку для клиента.
+     * @return строка курсора
+     */
+    public String encode() {
+        String raw = number + SEPARATOR + price + SEPARATOR + stars;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getStars() {
+        return stars;
+    }
+}
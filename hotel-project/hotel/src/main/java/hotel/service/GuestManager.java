@@ -1,7 +1,14 @@
 package hotel.service;
 
+import hotel.cache.HotelCounters;
+import hotel.concurrency.RetryOnConflict;
+import hotel.concurrency.RoomLocked;
 import hotel.db.interfaces.GuestServiceRepository;
 import hotel.db.interfaces.RoomRepository;
+import hotel.dto.BatchItemResultDto;
+import hotel.dto.GuestDto;
+import hotel.dto.ServiceDto;
+import hotel.enums.BatchItemStatus;
 import hotel.exceptions.ValidationException;
 import hotel.exceptions.guests.GuestAlreadyCheckedInException;
 import hotel.exceptions.guests.GuestException;
@@ -9,21 +16,28 @@ import hotel.exceptions.guests.GuestNotCheckedInException;
 import hotel.exceptions.guests.GuestNotFoundException;
 import hotel.exceptions.services.ServiceNotFoundException;
 import hotel.model.Guest;
-import hotel.model.Room;
 import hotel.model.Service;
 import hotel.db.interfaces.GuestRepository;
 import hotel.service.interfaces.IGuestManager;
+import hotel.service.interfaces.IReservationManager;
 import hotel.service.interfaces.IRoomManager;
 import hotel.service.interfaces.IServiceManager;
 import hotel.enums.GuestSortOption;
 import hotel.enums.ServiceSortOption;
+import hotel.events.GuestCountChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Менеджер для управления гостями отеля.
@@ -36,22 +50,34 @@ public class GuestManager implements IGuestManager {
 
     private static final Logger log = LoggerFactory.getLogger(GuestManager.class);
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 5000;
+
     private final GuestRepository guestRepository;
     private final RoomRepository roomRepository;
     private final GuestServiceRepository guestServiceRepository;
     private final IRoomManager roomManager;
     private final IServiceManager serviceManager;
+    private final IReservationManager reservationManager;
+    private final HotelCounters hotelCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
     public GuestManager(GuestRepository guestRepository,
                         RoomRepository roomRepository,
                         GuestServiceRepository guestServiceRepository,
                         IRoomManager roomManager,
-                        IServiceManager serviceManager) {
+                        IServiceManager serviceManager,
+                        IReservationManager reservationManager,
+                        HotelCounters hotelCounters,
+                        ApplicationEventPublisher eventPublisher) {
         this.guestRepository = guestRepository;
         this.roomRepository = roomRepository;
         this.guestServiceRepository = guestServiceRepository;
         this.roomManager = roomManager;
         this.serviceManager = serviceManager;
+        this.reservationManager = reservationManager;
+        this.hotelCounters = hotelCounters;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -63,13 +89,58 @@ public class GuestManager implements IGuestManager {
         log.info("Начало обработки команды: addGuest, guest={}", guest);
         validateGuest(guest);
         guestRepository.save(guest);
+        eventPublisher.publishEvent(new GuestCountChangedEvent(1));
         log.info("Успешно выполнена команда: addGuest, guest={}", guest);
         return guest;
     }
 
+    /**
+     * Регистрирует пакет гостей в одной транзакции.
+     * Гости, не прошедшие валидацию, пропускаются, остальные вставляются пакетами.
+     * @param guests гости для регистрации
+     * @return результат обработки каждого гостя в порядке запроса
+     */
+    @Override
+    public List<BatchItemResultDto> addGuests(List<Guest> guests) {
+        log.info("Начало обработки команды: addGuests, count={}", guests != null ? guests.size() : null);
+        if (guests == null || guests.isEmpty()) {
+            throw new ValidationException("Список гостей не может быть пустым");
+        }
+        if (guests.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Размер пакета не может превышать " + MAX_BATCH_SIZE);
+        }
+
+        BatchItemResultDto[] results = new BatchItemResultDto[guests.size()];
+        List<Guest> newGuests = new ArrayList<>();
+        List<Integer> newIndexes = new ArrayList<>();
+        for (int i = 0; i < guests.size(); i++) {
+            try {
+                validateGuest(guests.get(i));
+            } catch (ValidationException e) {
+                results[i] = BatchItemResultDto.rejected(i, BatchItemStatus.INVALID, e.getMessage());
+                continue;
+            }
+            newGuests.add(guests.get(i));
+            newIndexes.add(i);
+        }
+
+        guestRepository.insertAll(newGuests);
+        if (!newGuests.isEmpty()) {
+            eventPublisher.publishEvent(new GuestCountChangedEvent(newGuests.size()));
+        }
+        for (int j = 0; j < newGuests.size(); j++) {
+            results[newIndexes.get(j)] = BatchItemResultDto.created(newIndexes.get(j), newGuests.get(j).getId());
+        }
+
+        log.info("Успешно выполнена команда: addGuests, created={}, rejected={}",
+                newGuests.size(), guests.size() - newGuests.size());
+        return Arrays.asList(results);
+    }
+
     /**
      * Удаляет гостя из системы.
-     * Нельзя удалить заселенного гостя.
+     * Нельзя удалить заселенного гостя. Бронирования гостя отменяются,
+     * их ночи освобождаются в календаре после фиксации.
      * @param guest гость для удаления
      */
     @Override
@@ -86,7 +157,9 @@ public class GuestManager implements IGuestManager {
             throw new GuestException("Невозможно удалить заселенного гостя " + loadedGuest.getFullName() +
                     " из комнаты " + loadedGuest.getRoom().getNumber());
         }
+        reservationManager.cancelGuestReservations(loadedGuest.getId());
         guestRepository.delete(loadedGuest);
+        eventPublisher.publishEvent(new GuestCountChangedEvent(-1));
         log.info("Успешно выполнена команда: removeGuest, guest={}", guest);
     }
 
@@ -107,9 +180,7 @@ public class GuestManager implements IGuestManager {
     @Override
     public List<Guest> getGuestsNotCheckedIn() {
         log.info("Начало обработки команды: getGuestsNotCheckedIn");
-        return getAllGuests().stream()
-                .filter(guest -> guest.getRoom() == null)
-                .collect(Collectors.toList());
+        return guestRepository.findNotCheckedIn();
     }
 
     /**
@@ -119,19 +190,18 @@ public class GuestManager implements IGuestManager {
     @Override
     public List<Guest> getGuestsCheckedIn() {
         log.info("Начало обработки команды: getGuestsCheckedIn");
-        return getAllGuests().stream()
-                .filter(guest -> guest.getRoom() != null)
-                .collect(Collectors.toList());
+        return guestRepository.findCheckedIn();
     }
 
     /**
      * Возвращает общее количество гостей в системе.
+     * Значение берётся из счётчиков в памяти, которые сверяются с БД в фоне.
      * @return количество гостей
      */
     @Override
     public int countGuests() {
         log.info("Начало обработки команды: countGuests");
-        return guestRepository.count();
+        return Math.toIntExact(hotelCounters.countGuests());
     }
 
     /**
@@ -151,16 +221,87 @@ public class GuestManager implements IGuestManager {
     }
 
     /**
-     * Возвращает список гостей, отсортированных по указанному критерию.
+     * Возвращает услуги гостя, отсортированные по указанному критерию, сразу в виде DTO.
+     * Сортировка выполняется на стороне БД, гость и его коллекция услуг не загружаются.
+     * Существование гостя проверяется только при пустом результате.
+     * @param guestId идентификатор гостя
+     * @param option критерий сортировки
+     * @return отсортированный список услуг
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceDto> getSortedGuestServiceDtos(long guestId, ServiceSortOption option) {
+        log.info("Начало обработки команды: getSortedGuestServiceDtos, guestId={}, option={}", guestId, option);
+        if (option == null) {
+            throw new ValidationException("Критерий сортировки не может быть пустым");
+        }
+        List<ServiceDto> services = guestServiceRepository.findServiceDtosByGuestId(guestId, option);
+        if (services.isEmpty() && guestRepository.findById(guestId) == null) {
+            throw new GuestNotFoundException(guestId);
+        }
+        return services;
+    }
+
+    /**
+     * Возвращает всех гостей, отсортированных по указанному критерию.
+     * Сортировка и фильтрация выполняются на стороне БД.
+     * @param option критерий сортировки
+     * @param checkedIn фильтр по заселённости или null, если нужны все гости
+     * @return отсортированный список гостей
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<GuestDto> getSortedGuests(GuestSortOption option, Boolean checkedIn) {
+        log.info("Начало обработки команды: getSortedGuests, option={}, checkedIn={}", option, checkedIn);
+        if (option == null) {
+            throw new ValidationException("Критерий сортировки не может быть пустым");
+        }
+        return guestRepository.findDtos(option, checkedIn);
+    }
+
+    /**
+     * Возвращает страницу гостей, отсортированных по указанному критерию.
+     * Сортировка, фильтрация и постраничная выборка выполняются на стороне БД.
      * @param option критерий сортировки
+     * @param checkedIn фильтр по заселённости или null, если нужны все гости
+     * @param page номер страницы, начиная с 0
+     * @param size размер страницы
      * @return отсортированный список гостей
      */
     @Override
-    public List<Guest> getSortedGuests(GuestSortOption option) {
-        log.info("Начало обработки команды: getSortedGuests");
-        return getAllGuests().stream()
-                .sorted(option.getComparator())
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<GuestDto> getSortedGuests(GuestSortOption option, Boolean checkedIn, int page, int size) {
+        log.info("Начало обработки команды: getSortedGuests, option={}, checkedIn={}, page={}, size={}",
+                option, checkedIn, page, size);
+        if (option == null) {
+            throw new ValidationException("Критерий сортировки не может быть пустым");
+        }
+        if (page < 0) {
+            throw new ValidationException("Номер страницы не может быть отрицательным");
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+        return guestRepository.findDtoPage(option, checkedIn, Math.multiplyExact(page, size), size);
+    }
+
+    /**
+     * Последовательно передаёт всех гостей в обработчик, читая их из БД порциями.
+     * Гости не накапливаются в памяти, поэтому расход памяти не зависит от их количества.
+     * @param option критерий сортировки
+     * @param checkedIn фильтр по заселённости или null, если нужны все гости
+     * @param consumer обработчик очередного гостя
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSortedGuests(GuestSortOption option, Boolean checkedIn, Consumer<GuestDto> consumer) {
+        log.info("Начало обработки команды: streamSortedGuests, option={}, checkedIn={}", option, checkedIn);
+        if (option == null) {
+            throw new ValidationException("Критерий сортировки не может быть пустым");
+        }
+        try (Stream<GuestDto> guests = guestRepository.streamDtos(option, checkedIn)) {
+            guests.forEach(consumer);
+        }
     }
 
     /**
@@ -186,11 +327,22 @@ public class GuestManager implements IGuestManager {
             throw new ValidationException("Полное имя гостя не может быть пустым");
         }
 
-        String normalizedFullName = fullName.trim().toLowerCase();
-        return getAllGuests().stream()
-                .filter(g -> g.getFullName().toLowerCase().equals(normalizedFullName))
-                .findFirst()
-                .orElse(null);
+        return guestRepository.findByFullName(fullName);
+    }
+
+    /**
+     * Находит гостя по полному имени и возвращает его в виде DTO.
+     * @param fullName полное имя гостя
+     * @return гость или null, если не найден
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public GuestDto findGuestDtoByFullName(String fullName) {
+        log.info("Начало обработки команды: findGuestDtoByFullName, fullName={}", fullName);
+        if (fullName == null || fullName.trim().isEmpty()) {
+            throw new ValidationException("Полное имя гостя не может быть пустым");
+        }
+        return guestRepository.findDtoByFullName(fullName);
     }
 
     /**
@@ -215,6 +367,8 @@ public class GuestManager implements IGuestManager {
      * @return true, если заселение успешно, false в противном случае
      */
     @Override
+    @RetryOnConflict
+    @RoomLocked(roomNumberArg = 1)
     public boolean checkInGuest(long guestId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
         if (checkIn == null || checkOut == null) {
             throw new ValidationException("Даты заселения и выселения не могут быть пустыми");
@@ -243,21 +397,25 @@ public class GuestManager implements IGuestManager {
 
     /**
      * Выселяет гостя из комнаты.
+     * Номер комнаты определяется до начала транзакции, чтобы выселение
+     * выполнялось под блокировкой номера: RoomManager.checkOut захватывает её
+     * и открывает собственную транзакцию с повтором при конфликте версий.
+     * Если гость успел переехать, RoomManager.checkOut не найдёт его в комнате.
      * @param guestId идентификатор гостя
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean checkOutGuest(long guestId) {
         log.info("Начало обработки команды: checkOutGuest, guestId={}", guestId);
-        Guest guest = guestRepository.findById(guestId);
-        if (guest == null) {
-            throw new GuestNotFoundException(guestId);
-        }
-        Room room = guest.getRoom();
-        if (room == null) {
+        Integer roomNumber = guestRepository.findRoomNumberByGuestId(guestId);
+        if (roomNumber == null) {
+            if (guestRepository.findById(guestId) == null) {
+                throw new GuestNotFoundException(guestId);
+            }
             throw new GuestNotCheckedInException(guestId);
         }
 
-        boolean result = roomManager.checkOut(room.getNumber(), guestId);
+        boolean result = roomManager.checkOut(roomNumber, guestId);
 
         if (!result) throw new GuestException("Не удалось выселить гостя");
 
@@ -0,0 +1,246 @@
+package hotel.service;
+
+import hotel.cache.ReservationCalendar;
+import hotel.cache.RoomAvailabilityIndex;
+import hotel.cache.RoomInventoryCache;
+import hotel.cache.RoomSnapshot;
+import hotel.concurrency.RoomLocked;
+import hotel.config.RoomConfigurationService;
+import hotel.db.interfaces.GuestRepository;
+import hotel.db.interfaces.ReservationRepository;
+import hotel.db.interfaces.RoomRepository;
+import hotel.enums.RoomSortOption;
+import hotel.exceptions.ValidationException;
+import hotel.exceptions.guests.GuestNotFoundException;
+import hotel.exceptions.reservations.ReservationConflictException;
+import hotel.exceptions.reservations.ReservationNotFoundException;
+import hotel.exceptions.rooms.RoomNotFoundException;
+import hotel.exceptions.rooms.RoomUnderMaintenanceException;
+import hotel.model.Guest;
+import hotel.model.Reservation;
+import hotel.model.Room;
+import hotel.service.interfaces.IReservationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Менеджер предварительных бронирований номеров.
+ * Проверка пересечений выполняется по {@link ReservationCalendar}:
+ * период бронируется в календаре до записи в БД и освобождается,
+ * если транзакция не была зафиксирована. Бронирование создаётся под
+ * блокировкой номера, как и заселение, поэтому они не пропускают друг друга.
+ */
+@Transactional
+@org.springframework.stereotype.Service
+public class ReservationManager implements IReservationManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationManager.class);
+
+    private static final int MAX_FREE_ROOMS_COUNT = 500;
+
+    private final ReservationRepository reservationRepository;
+    private final RoomRepository roomRepository;
+    private final GuestRepository guestRepository;
+    private final ReservationCalendar reservationCalendar;
+    private final RoomInventoryCache roomInventoryCache;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final RoomConfigurationService roomConfig;
+
+    public ReservationManager(ReservationRepository reservationRepository,
+                              RoomRepository roomRepository,
+                              GuestRepository guestRepository,
+                              ReservationCalendar reservationCalendar,
+                              RoomInventoryCache roomInventoryCache,
+                              RoomAvailabilityIndex roomAvailabilityIndex,
+                              RoomConfigurationService roomConfig) {
+        this.reservationRepository = reservationRepository;
+        this.roomRepository = roomRepository;
+        this.guestRepository = guestRepository;
+        this.reservationCalendar = reservationCalendar;
+        this.roomInventoryCache = roomInventoryCache;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.roomConfig = roomConfig;
+    }
+
+    /**
+     * Бронирует номер для гостя на период проживания.
+     * @param roomNumber номер комнаты
+     * @param guestId идентификатор гостя
+     * @param checkIn дата заезда
+     * @param checkOut дата выезда
+     * @return созданное бронирование
+     */
+    @Override
+    @RoomLocked
+    public Reservation createReservation(int roomNumber, long guestId, LocalDate checkIn, LocalDate checkOut) {
+        log.info("Начало обработки команды: createReservation, roomNumber={}, guestId={}, checkIn={}, checkOut={}",
+                roomNumber, guestId, checkIn, checkOut);
+        validatePeriod(checkIn, checkOut);
+
+        Room room = roomRepository.findByNumber(roomNumber);
+        if (room == null) {
+            throw new RoomNotFoundException(roomNumber);
+        }
+        if (room.isUnderMaintenance()) {
+            throw new RoomUnderMaintenanceException(roomNumber);
+        }
+
+        Guest guest = guestRepository.findById(guestId);
+        if (guest == null) {
+            throw new GuestNotFoundException(guestId);
+        }
+
+        if (roomAvailabilityIndex.findOccupiedRooms(checkIn, checkOut).contains(roomNumber)
+                || !reservationCalendar.tryBook(roomNumber, checkIn, checkOut)) {
+            throw new ReservationConflictException(roomNumber, checkIn, checkOut);
+        }
+        completeBookingAfterCompletion(roomNumber, checkIn, checkOut);
+
+        Reservation reservation = reservationRepository.save(new Reservation(room, guest, checkIn, checkOut));
+        log.info("Успешно выполнена команда: createReservation, reservation={}", reservation);
+        return reservation;
+    }
+
+    /**
+     * Отменяет бронирование.
+     * Ночи бронирования освобождаются в календаре после фиксации транзакции.
+     * @param reservationId идентификатор бронирования
+     */
+    @Override
+    public void cancelReservation(long reservationId) {
+        log.info("Начало обработки команды: cancelReservation, reservationId={}", reservationId);
+
+        Reservation reservation = getReservationById(reservationId);
+        reservationRepository.delete(reservation);
+        releaseAfterCommit(reservation.getRoom().getNumber(),
+                reservation.getCheckInDate(), reservation.getCheckOutDate());
+
+        log.info("Успешно выполнена команда: cancelReservation, reservationId={}", reservationId);
+    }
+
+    /**
+     * Отменяет все бронирования гостя.
+     * Вызывается перед удалением гостя; ночи освобождаются в календаре
+     * после фиксации транзакции, как при отмене одного бронирования.
+     * @param guestId идентификатор гостя
+     */
+    @Override
+    public void cancelGuestReservations(long guestId) {
+        log.info("Начало обработки команды: cancelGuestReservations, guestId={}", guestId);
+        List<Reservation> reservations = reservationRepository.findByGuestId(guestId);
+        for (Reservation reservation : reservations) {
+            reservationRepository.delete(reservation);
+            releaseAfterCommit(reservation.getRoom().getNumber(),
+                    reservation.getCheckInDate(), reservation.getCheckOutDate());
+        }
+        log.info("Успешно выполнена команда: cancelGuestReservations, guestId={}, cancelled={}",
+                guestId, reservations.size());
+    }
+
+    /**
+     * Возвращает бронирование по идентификатору.
+     * @param reservationId идентификатор бронирования
+     * @return бронирование
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Reservation getReservationById(long reservationId) {
+        log.info("Начало обработки команды: getReservationById, reservationId={}", reservationId);
+        Reservation reservation = reservationRepository.findById(reservationId);
+        if (reservation == null) {
+            throw new ReservationNotFoundException(reservationId);
+        }
+        return reservation;
+    }
+
+    /**
+     * Находит до count номеров, свободных на весь период проживания.
+     * Номера на обслуживании, занятые и забронированные номера не включаются.
+     * @param checkIn дата заезда
+     * @param checkOut дата выезда
+     * @param count требуемое количество номеров
+     * @return список номеров, отсортированный по номеру
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RoomSnapshot> findFreeRooms(LocalDate checkIn, LocalDate checkOut, int count) {
+        log.info("Начало обработки команды: findFreeRooms, checkIn={}, checkOut={}, count={}", checkIn, checkOut, count);
+        validatePeriod(checkIn, checkOut);
+        if (count <= 0 || count > MAX_FREE_ROOMS_COUNT) {
+            throw new ValidationException("Количество номеров должно быть от 1 до " + MAX_FREE_ROOMS_COUNT);
+        }
+
+        Set<Integer> occupied = roomAvailabilityIndex.findOccupiedRooms(checkIn, checkOut);
+        List<RoomSnapshot> candidates = roomInventoryCache.current().getSortedRooms(RoomSortOption.BY_NUMBER).stream()
+                .filter(room -> !room.isUnderMaintenance() && !occupied.contains(room.getNumber()))
+                .toList();
+        return reservationCalendar.findFreeRooms(candidates, checkIn, checkOut, count);
+    }
+
+    /**
+     * Завершает бронирование ночей в календаре по завершении транзакции:
+     * после фиксации бронирование подтверждается, после отката ночи освобождаются.
+     * @param roomNumber номер комнаты
+     * @param checkIn дата заезда
+     * @param checkOut дата выезда
+     */
+    private void completeBookingAfterCompletion(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    reservationCalendar.confirm(roomNumber, checkIn, checkOut);
+                } else {
+                    reservationCalendar.release(roomNumber, checkIn, checkOut);
+                }
+            }
+        });
+    }
+
+    /**
+     * Освобождает ночи в календаре после фиксации транзакции.
+     * @param roomNumber номер комнаты
+     * @param checkIn дата заезда
+     * @param checkOut дата выезда
+     */
+    private void releaseAfterCommit(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    reservationCalendar.release(roomNumber, checkIn, checkOut);
+                }
+            }
+        });
+    }
+
+    /**
+     * Валидирует период бронирования.
+     * @param checkIn дата заезда
+     * @param checkOut дата выезда
+     */
+    private void validatePeriod(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            throw new ValidationException("Даты заезда и выезда не могут быть пустыми");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new ValidationException("Дата выезда должна быть после даты заезда");
+        }
+        LocalDate today = LocalDate.now();
+        if (checkIn.isBefore(today)) {
+            throw new ValidationException("Дата заезда не может быть в прошлом");
+        }
+        if (checkOut.isAfter(today.plusDays(roomConfig.getReservationHorizonDays()))) {
+            throw new ValidationException("Бронирование возможно не более чем на "
+                    + roomConfig.getReservationHorizonDays() + " дней вперёд");
+        }
+    }
+}
@@ -1,29 +1,51 @@
 package hotel.service;
 
+import hotel.cache.HotelCounters;
+import hotel.cache.ReservationCalendar;
+import hotel.cache.RoomAvailabilityIndex;
+import hotel.cache.RoomInventoryCache;
+import hotel.cache.RoomSnapshot;
+import hotel.concurrency.RetryOnConflict;
+import hotel.concurrency.RoomLocked;
 import hotel.db.dao.jpa.JpaRoomDao;
 import hotel.db.dao.jpa.JpaStayHistoryDao;
+import hotel.db.interfaces.ReservationRepository;
+import hotel.dto.BatchItemResultDto;
+import hotel.enums.BatchItemStatus;
 import hotel.exceptions.ValidationException;
+import hotel.history.StayHistoryWriter;
 import hotel.exceptions.guests.GuestNotCheckedInException;
 import hotel.exceptions.guests.GuestNotFoundException;
+import hotel.exceptions.reservations.ReservationConflictException;
 import hotel.exceptions.rooms.RoomCapacityExceededException;
 import hotel.exceptions.rooms.RoomNotFoundException;
 import hotel.exceptions.rooms.RoomOccupiedException;
 import hotel.exceptions.rooms.RoomUnderMaintenanceException;
 import hotel.model.Guest;
 import hotel.model.Room;
+import hotel.paging.Page;
+import hotel.paging.RoomCursor;
 import hotel.service.interfaces.IRoomManager;
 import hotel.config.RoomConfigurationService;
 import hotel.enums.RoomSortOption;
+import hotel.enums.RoomStatus;
+import hotel.events.RoomChangedEvent;
+import hotel.events.RoomsAddedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -37,16 +59,40 @@ public class RoomManager implements IRoomManager {
 
     private static final Logger log = LoggerFactory.getLogger(RoomManager.class);
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 5000;
+
     private final JpaRoomDao roomRepository;
     private final JpaStayHistoryDao stayHistoryRepository;
+    private final StayHistoryWriter stayHistoryWriter;
     private final RoomConfigurationService roomConfig;
+    private final RoomInventoryCache roomInventoryCache;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final ReservationCalendar reservationCalendar;
+    private final ReservationRepository reservationRepository;
+    private final HotelCounters hotelCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RoomManager(JpaRoomDao roomRepository,
                        JpaStayHistoryDao stayHistoryRepository,
-                       RoomConfigurationService roomConfig) {
+                       StayHistoryWriter stayHistoryWriter,
+                       RoomConfigurationService roomConfig,
+                       RoomInventoryCache roomInventoryCache,
+                       RoomAvailabilityIndex roomAvailabilityIndex,
+                       ReservationCalendar reservationCalendar,
+                       ReservationRepository reservationRepository,
+                       HotelCounters hotelCounters,
+                       ApplicationEventPublisher eventPublisher) {
         this.roomRepository = roomRepository;
         this.stayHistoryRepository = stayHistoryRepository;
+        this.stayHistoryWriter = stayHistoryWriter;
         this.roomConfig = roomConfig;
+        this.roomInventoryCache = roomInventoryCache;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.reservationCalendar = reservationCalendar;
+        this.reservationRepository = reservationRepository;
+        this.hotelCounters = hotelCounters;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -66,12 +112,85 @@ public class RoomManager implements IRoomManager {
         }
 
         roomRepository.save(room);
+        publishRoomChanged(room);
         log.info("Успешно выполнена команда: addRoom, room={}", room);
         return true;
     }
 
+    /**
+     * Добавляет пакет комнат в одной транзакции.
+     * Каждая комната проходит валидацию, номера проверяются на дубли внутри
+     * пакета и одним запросом на существование в БД, после чего новые
+     * комнаты вставляются пакетами.
+     * @param rooms комнаты для добавления
+     * @return результат обработки каждой комнаты в порядке запроса
+     */
+    @Override
+    public List<BatchItemResultDto> addRooms(List<Room> rooms) {
+        log.info("Начало обработки команды: addRooms, count={}", rooms != null ? rooms.size() : null);
+        if (rooms == null || rooms.isEmpty()) {
+            throw new ValidationException("Список комнат не может быть пустым");
+        }
+        if (rooms.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Размер пакета не может превышать " + MAX_BATCH_SIZE);
+        }
+
+        BatchItemResultDto[] results = new BatchItemResultDto[rooms.size()];
+        Set<Integer> numbers = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            try {
+                if (room == null) {
+                    throw new ValidationException("Комната не может быть пустой");
+                }
+                validateRoom(room);
+            } catch (ValidationException e) {
+                results[i] = BatchItemResultDto.rejected(i, BatchItemStatus.INVALID, e.getMessage());
+                continue;
+            }
+            if (!numbers.add(room.getNumber())) {
+                results[i] = BatchItemResultDto.rejected(i, BatchItemStatus.DUPLICATE,
+                        "Комната с номером " + room.getNumber() + " повторяется в запросе");
+                continue;
+            }
+            candidates.add(i);
+        }
+
+        Set<Integer> existing = roomRepository.findExistingNumbers(numbers);
+        List<Room> newRooms = new ArrayList<>();
+        List<Integer> newIndexes = new ArrayList<>();
+        for (int i : candidates) {
+            Room room = rooms.get(i);
+            if (existing.contains(room.getNumber())) {
+                results[i] = BatchItemResultDto.rejected(i, BatchItemStatus.DUPLICATE,
+                        "Комната с номером " + room.getNumber() + " уже существует");
+            } else {
+                newRooms.add(room);
+                newIndexes.add(i);
+            }
+        }
+
+        roomRepository.insertAll(newRooms);
+        List<RoomSnapshot> snapshots = new ArrayList<>(newRooms.size());
+        for (int j = 0; j < newRooms.size(); j++) {
+            Room room = newRooms.get(j);
+            results[newIndexes.get(j)] = BatchItemResultDto.created(newIndexes.get(j), room.getId());
+            snapshots.add(RoomSnapshot.of(room));
+        }
+        if (!snapshots.isEmpty()) {
+            eventPublisher.publishEvent(new RoomsAddedEvent(snapshots));
+        }
+
+        log.info("Успешно выполнена команда: addRooms, created={}, rejected={}",
+                newRooms.size(), rooms.size() - newRooms.size());
+        return Arrays.asList(results);
+    }
+
     /**
      * Заселяет гостей в указанную комнату на заданный период.
+     * Заселение отклоняется, если на ночи периода номер забронирован
+     * другим гостем; собственное бронирование заселяемых гостей не мешает.
      * @param roomNumber номер комнаты
      * @param guests список гостей для заселения
      * @param checkInDate дата заселения
@@ -79,6 +198,8 @@ public class RoomManager implements IRoomManager {
      * @return true, если заселение успешно, false в противном случае
      */
     @Override
+    @RetryOnConflict
+    @RoomLocked
     public boolean checkIn(int roomNumber, List<Guest> guests, LocalDate checkInDate, LocalDate checkOutDate) {
         log.info("Начало обработки команды: checkIn, roomNumber={}, guestsCount={}", roomNumber, guests.size());
         validateCheckIn(guests, checkInDate, checkOutDate);
@@ -100,6 +221,8 @@ public class RoomManager implements IRoomManager {
             throw new RoomCapacityExceededException(roomNumber, room.getCapacity(), guests.size());
         }
 
+        checkReservations(roomNumber, guests, checkInDate, checkOutDate);
+
 
         for (Guest guest : guests) {
             guest.setRoom(room);
@@ -112,12 +235,13 @@ public class RoomManager implements IRoomManager {
         room.setCheckOutDate(checkOutDate);
 
         roomRepository.save(room);
+        publishRoomChanged(room);
 
         String guestNames = guests.stream()
                 .map(Guest::getFullName)
                 .collect(Collectors.joining(", "));
         String entry = "Гости: " + guestNames + " проживали с " + checkInDate + " по " + checkOutDate;
-        stayHistoryRepository.addEntry(room.getId(), entry);
+        stayHistoryWriter.append(room.getId(), entry);
 
         log.info("Успешно выполнена команда: checkIn, roomNumber={}, guestsCount={}", roomNumber, guests.size());
         return true;
@@ -129,6 +253,8 @@ public class RoomManager implements IRoomManager {
      * @return true, если выселение успешно, false если комната пуста или не найдена
      */
     @Override
+    @RetryOnConflict
+    @RoomLocked
     public boolean checkOut(int roomNumber) {
         return checkOutGuestFromRoom(roomNumber, null);
     }
@@ -139,6 +265,8 @@ public class RoomManager implements IRoomManager {
      * @return true, если выселение успешно, false если комната пуста или не найдена
      */
     @Override
+    @RetryOnConflict
+    @RoomLocked
     public boolean checkOut(int roomNumber, long guestId) {
         return checkOutGuestFromRoom(roomNumber, guestId);
     }
@@ -177,7 +305,7 @@ public class RoomManager implements IRoomManager {
             }
 
             String entry = "Выселен гость ID " + guestId + " " + LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            stayHistoryRepository.addEntry(room.getId(), entry);
+            stayHistoryWriter.append(room.getId(), entry);
         } else {
             for (Guest guest : guests) {
                 guest.setRoom(null);
@@ -187,10 +315,11 @@ public class RoomManager implements IRoomManager {
             room.clearOccupationTime();
 
             String entry = "Выселены все гости " + LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            stayHistoryRepository.addEntry(room.getId(), entry);
+            stayHistoryWriter.append(room.getId(), entry);
         }
 
         roomRepository.save(room);
+        publishRoomChanged(room);
         log.info("Успешно выполнена команда: checkOutGuestFromRoom, roomNumber={}, guestId={}", roomNumber, guestId);
         return true;
     }
@@ -201,6 +330,8 @@ public class RoomManager implements IRoomManager {
      * @param maintenance true, если требуется обслуживание, false в противном случае
      */
     @Override
+    @RetryOnConflict
+    @RoomLocked
     public boolean setRoomMaintenance(int roomNumber, boolean maintenance) {
         log.info("Начало обработки команды: setRoomMaintenance, roomNumber={}, maintenance={}", roomNumber, maintenance);
 
@@ -219,6 +350,7 @@ public class RoomManager implements IRoomManager {
 
         room.setUnderMaintenance(maintenance);
         roomRepository.save(room);
+        publishRoomChanged(room);
 
         log.info("Успешно выполнена команда: setRoomMaintenance, roomNumber={}, maintenance={}", roomNumber, maintenance);
         return true;
@@ -230,6 +362,8 @@ public class RoomManager implements IRoomManager {
      * @param newPrice новая цена
      */
     @Override
+    @RetryOnConflict
+    @RoomLocked
     public void changeRoomPrice(int roomNumber, double newPrice) {
         log.info("Начало обработки команды: changeRoomPrice, roomNumber={}, newPrice={}", roomNumber, newPrice);
 
@@ -244,22 +378,22 @@ public class RoomManager implements IRoomManager {
 
         room.setPrice(newPrice);
         roomRepository.save(room);
+        publishRoomChanged(room);
 
         log.info("Успешно выполнена команда: changeRoomPrice, roomNumber={}, newPrice={}", roomNumber, newPrice);
     }
 
     /**
      * Возвращает список комнат, отсортированных по указанному критерию.
+     * Список берётся из снимка номерного фонда без обращения к БД.
      * @param option критерий сортировки
      * @return отсортированный список комнат
      */
     @Override
-    public List<Room> getSortedRooms(RoomSortOption option) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RoomSnapshot> getSortedRooms(RoomSortOption option) {
         log.info("Начало обработки команды: getSortedRooms, option={}", option);
-        List<Room> rooms = getAllRooms();
-        return rooms.stream()
-                .sorted(option.getComparator())
-                .collect(Collectors.toList());
+        return roomInventoryCache.current().getSortedRooms(option);
     }
 
     /**
@@ -286,26 +420,54 @@ public class RoomManager implements IRoomManager {
     /**
      * Возвращает список свободных комнат, отсортированных по указанному критерию.
      * Свободные комнаты - это комнаты, которые не заняты и не находятся на обслуживании.
+     * Список берётся из снимка номерного фонда без обращения к БД.
      * @param option критерий сортировки
      * @return отсортированный список свободных комнат
      */
     @Override
-    public List<Room> getFreeRooms(RoomSortOption option) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RoomSnapshot> getFreeRooms(RoomSortOption option) {
         log.info("Начало обработки команды: getFreeRooms, option={}", option);
-        return getAllRooms().stream()
-                .filter(room -> !room.isOccupied() && !room.isUnderMaintenance())
-                .sorted(option.getComparator())
-                .collect(Collectors.toList());
+        return roomInventoryCache.current().getFreeRooms(option);
+    }
+
+    /**
+     * Возвращает страницу комнат, отсортированных на стороне БД.
+     * @param option критерий сортировки
+     * @param freeOnly true, если нужны только свободные комнаты
+     * @param after курсор предыдущей страницы или null для первой страницы
+     * @param limit размер страницы
+     * @return страница комнат с курсором следующей страницы
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<RoomSnapshot> getRoomsPage(RoomSortOption option, boolean freeOnly, String after, int limit) {
+        log.info("Начало обработки команды: getRoomsPage, option={}, freeOnly={}, after={}, limit={}",
+                option, freeOnly, after, limit);
+        if (option == null) {
+            throw new ValidationException("Критерий сортировки не может быть пустым");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+
+        List<RoomSnapshot> rooms = roomRepository.findPage(option, freeOnly, RoomCursor.decode(after), limit + 1);
+        if (rooms.size() <= limit) {
+            return new Page<>(rooms, null);
+        }
+        List<RoomSnapshot> items = rooms.subList(0, limit);
+        return new Page<>(items, RoomCursor.after(items.getLast()).encode());
     }
 
     /**
      * Возвращает количество свободных комнат.
+     * Значение берётся из счётчиков в памяти, которые сверяются с БД в фоне.
      * @return количество свободных комнат
      */
     @Override
     public int countFreeRooms() {
         log.info("Начало обработки команды: countFreeRooms");
-        return roomRepository.countFree();
+        return Math.toIntExact(hotelCounters.countRooms(RoomStatus.FREE));
     }
 
     /**
@@ -315,15 +477,34 @@ public class RoomManager implements IRoomManager {
      * @return список комнат, которые будут свободны к указанной дате
      */
     @Override
-    public List<Room> findRoomsThatWillBeFree(LocalDate date) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RoomSnapshot> findRoomsThatWillBeFree(LocalDate date) {
         log.info("Начало обработки команды: findRoomsThatWillBeFree, date={}", date);
         if (date == null) {
             throw new ValidationException("Дата не может быть пустой");
         }
-        return getAllRooms().stream()
-                .filter(room -> !room.isOccupied() ||
-                        (room.getCheckOutDate() != null && !room.getCheckOutDate().isAfter(date)))
-                .collect(Collectors.toList());
+        return roomsFreeDuring(date, date.plusDays(1), false);
+    }
+
+    /**
+     * Находит комнаты, свободные на весь период проживания.
+     * Комнаты на обслуживании и забронированные на период в результат не включаются.
+     * @param from дата заезда
+     * @param to дата выезда
+     * @return список свободных комнат, отсортированный по номеру
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RoomSnapshot> findAvailableRooms(LocalDate from, LocalDate to) {
+        log.info("Начало обработки команды: findAvailableRooms, from={}, to={}", from, to);
+        if (from == null || to == null) {
+            throw new ValidationException("Даты заезда и выезда не могут быть пустыми");
+        }
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Дата выезда должна быть после даты заезда");
+        }
+        List<RoomSnapshot> rooms = roomsFreeDuring(from, to, true);
+        return reservationCalendar.findFreeRooms(rooms, from, to, rooms.size());
     }
 
     /**
@@ -363,6 +544,29 @@ public class RoomManager implements IRoomManager {
         return stayHistoryRepository.findByRoomId(room.getId(), roomConfig.getHistorySize());
     }
 
+    /**
+     * Отбирает комнаты, не занятые ни в один день периода [from, to).
+     * @param from начало периода
+     * @param to конец периода (не включительно)
+     * @param excludeMaintenance true, если комнаты на обслуживании нужно исключить
+     * @return список комнат, отсортированный по номеру
+     */
+    private List<RoomSnapshot> roomsFreeDuring(LocalDate from, LocalDate to, boolean excludeMaintenance) {
+        Set<Integer> occupied = roomAvailabilityIndex.findOccupiedRooms(from, to);
+        return roomInventoryCache.current().getSortedRooms(RoomSortOption.BY_NUMBER).stream()
+                .filter(room -> !occupied.contains(room.getNumber()))
+                .filter(room -> !excludeMaintenance || !room.isUnderMaintenance())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Публикует событие изменения номера для обновления снимка номерного фонда.
+     * @param room изменённая комната
+     */
+    private void publishRoomChanged(Room room) {
+        eventPublisher.publishEvent(new RoomChangedEvent(RoomSnapshot.of(room)));
+    }
+
     /**
      * Валидирует данные комнаты перед сохранением.
      * @param room комната для валидации
@@ -399,4 +603,28 @@ public class RoomManager implements IRoomManager {
             throw new ValidationException("Дата выселения должна быть после даты заселения");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Проверяет, что номер не забронирован на период заселения другими гостями.
+     * Календарь бронирований проверяется в памяти; бронирования из БД читаются
+     * только при пересечении, чтобы пропустить бронирования самих заселяемых гостей.
+     * Вызывается под блокировкой номера, под которой создаются и бронирования.
+     * @param roomNumber номер комнаты
+     * @param guests заселяемые гости
+     * @param checkIn дата заселения
+     * @param checkOut дата выселения
+     */
+    private void checkReservations(int roomNumber, List<Guest> guests, LocalDate checkIn, LocalDate checkOut) {
+        if (reservationCalendar.isFree(roomNumber, checkIn, checkOut)) {
+            return;
+        }
+        Set<Long> guestIds = guests.stream()
+                .map(Guest::getId)
+                .collect(Collectors.toSet());
+        boolean reservedByOthers = reservationRepository.findOverlapping(roomNumber, checkIn, checkOut).stream()
+                .anyMatch(reservation -> !guestIds.contains(reservation.getGuest().getId()));
+        if (reservedByOthers) {
+            throw new ReservationConflictException(roomNumber, checkIn, checkOut);
+        }
+    }
+}
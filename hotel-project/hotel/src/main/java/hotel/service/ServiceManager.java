@@ -1,5 +1,6 @@
 package hotel.service;
 
+import hotel.dto.ServiceDto;
 import hotel.exceptions.ValidationException;
 import hotel.exceptions.services.ServiceAlreadyExistsException;
 import hotel.exceptions.services.ServiceNotFoundException;
@@ -8,8 +9,10 @@ import hotel.model.Service;
 import hotel.db.interfaces.ServiceRepository;
 import hotel.service.interfaces.IServiceManager;
 import hotel.enums.ServiceSortOption;
+import hotel.events.ServicesChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -26,9 +29,11 @@ public class ServiceManager implements IServiceManager {
     private static final Logger log = LoggerFactory.getLogger(ServiceManager.class);
 
     private final ServiceRepository serviceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ServiceManager(ServiceRepository serviceRepository) {
+    public ServiceManager(ServiceRepository serviceRepository, ApplicationEventPublisher eventPublisher) {
         this.serviceRepository = serviceRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -48,6 +53,7 @@ public class ServiceManager implements IServiceManager {
         }
 
         Service savedService = serviceRepository.save(service);
+        eventPublisher.publishEvent(new ServicesChangedEvent(savedService.getName()));
         log.info("Успешно выполнена команда: addService, service={}", savedService);
         return savedService;
     }
@@ -75,6 +81,7 @@ public class ServiceManager implements IServiceManager {
 
         service.setPrice(newPrice);
         serviceRepository.save(service);
+        eventPublisher.publishEvent(new ServicesChangedEvent(serviceName));
 
         log.info("Успешно выполнена команда: changeServicePrice, serviceName={}, newPrice={}", serviceName, newPrice);
     }
@@ -93,6 +100,22 @@ public class ServiceManager implements IServiceManager {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Возвращает услуги, отсортированные по указанному критерию, сразу в виде DTO.
+     * Сортировка выполняется на стороне БД, сущности услуг не загружаются.
+     * @param option критерий сортировки
+     * @return отсортированный список услуг
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ServiceDto> getSortedServiceDtos(ServiceSortOption option) {
+        log.info("Начало обработки команды: getSortedServiceDtos, option={}", option);
+        if (option == null) {
+            throw new ValidationException("Критерий сортировки не может быть пустым");
+        }
+        return serviceRepository.findDtos(option);
+    }
+
     /**
      * Возвращает список всех услуг.
      * @return список всех услуг
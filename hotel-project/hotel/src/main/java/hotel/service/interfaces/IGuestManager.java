@@ -1,5 +1,8 @@
 package hotel.service.interfaces;
 
+import hotel.dto.BatchItemResultDto;
+import hotel.dto.GuestDto;
+import hotel.dto.ServiceDto;
 import hotel.model.Guest;
 import hotel.model.Service;
 import hotel.enums.GuestSortOption;
@@ -7,19 +10,25 @@ import hotel.enums.ServiceSortOption;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IGuestManager {
 
     Guest addGuest(Guest guest);
+    List<BatchItemResultDto> addGuests(List<Guest> guests);
     void removeGuest(Guest guest);
     List<Guest> getAllGuests();
     List<Guest> getGuestsNotCheckedIn();
     List<Guest> getGuestsCheckedIn();
     int countGuests();
     List<Service> getSortedGuestServices(Guest guest, ServiceSortOption option);
-    List<Guest> getSortedGuests(GuestSortOption option);
+    List<ServiceDto> getSortedGuestServiceDtos(long guestId, ServiceSortOption option);
+    List<GuestDto> getSortedGuests(GuestSortOption option, Boolean checkedIn);
+    List<GuestDto> getSortedGuests(GuestSortOption option, Boolean checkedIn, int page, int size);
+    void streamSortedGuests(GuestSortOption option, Boolean checkedIn, Consumer<GuestDto> consumer);
     Guest getGuestById(long id);
     Guest findGuestByFullName(String fullName);
+    GuestDto findGuestDtoByFullName(String fullName);
     boolean addServiceToGuest(long guestId, long serviceId);
     boolean checkInGuest(long guestId, int roomNumber, LocalDate checkIn, LocalDate checkOut);
     boolean checkOutGuest(long guestId);
@@ -0,0 +1,17 @@
+package hotel.service.interfaces;
+
+import hotel.cache.RoomSnapshot;
+import hotel.model.Reservation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+
+public interface IReservationManager {
+
+    Reservation createReservation(int roomNumber, long guestId, LocalDate checkIn, LocalDate checkOut);
+    void cancelReservation(long reservationId);
+    void cancelGuestReservations(long guestId);
+    Reservation getReservationById(long reservationId);
+    List<RoomSnapshot> findFreeRooms(LocalDate checkIn, LocalDate checkOut, int count);
+}
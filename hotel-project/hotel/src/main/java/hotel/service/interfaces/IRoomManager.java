@@ -1,7 +1,10 @@
 package hotel.service.interfaces;
 
+import hotel.cache.RoomSnapshot;
+import hotel.dto.BatchItemResultDto;
 import hotel.model.Guest;
 import hotel.model.Room;
+import hotel.paging.Page;
 import hotel.enums.RoomSortOption;
 
 import java.time.LocalDate;
@@ -11,17 +14,20 @@ import java.util.List;
 public interface IRoomManager {
 
     boolean addRoom(Room room);
+    List<BatchItemResultDto> addRooms(List<Room> rooms);
     boolean checkIn(int roomNumber, List<Guest> guests, LocalDate checkInDate, LocalDate checkOutDate);
     boolean checkOut(int roomNumber);
     boolean checkOut(int roomNumber, long guestId);
     boolean setRoomMaintenance(int roomNumber, boolean maintenance);
     void changeRoomPrice(int roomNumber, double newPrice);
-    List<Room> getSortedRooms(RoomSortOption option);
+    List<RoomSnapshot> getSortedRooms(RoomSortOption option);
     List<Room> getAllRooms();
     Room findRoomByNumber(int roomNumber);
-    List<Room> getFreeRooms(RoomSortOption option);
+    List<RoomSnapshot> getFreeRooms(RoomSortOption option);
+    Page<RoomSnapshot> getRoomsPage(RoomSortOption option, boolean freeOnly, String after, int limit);
     int countFreeRooms();
-    List<Room> findRoomsThatWillBeFree(LocalDate date);
+    List<RoomSnapshot> findRoomsThatWillBeFree(LocalDate date);
+    List<RoomSnapshot> findAvailableRooms(LocalDate from, LocalDate to);
     double fullRoomPrice(Room room);
     List<String> getRoomHistory(int roomNumber);
 }
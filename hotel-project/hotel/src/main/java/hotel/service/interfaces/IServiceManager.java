@@ -1,5 +1,6 @@
 package hotel.service.interfaces;
 
+import hotel.dto.ServiceDto;
 import hotel.model.Service;
 import hotel.enums.ServiceSortOption;
 
@@ -11,6 +12,7 @@ public interface IServiceManager {
     Service addService(Service service);
     void changeServicePrice(String serviceName, double newPrice);
     List<Service> getSortedServices(ServiceSortOption option);
+    List<ServiceDto> getSortedServiceDtos(ServiceSortOption option);
     List<Service> getAllServices();
     Service findByName(String name);
     Service getServiceById(long id);
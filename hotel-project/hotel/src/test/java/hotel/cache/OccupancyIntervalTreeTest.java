@@ -0,0 +1,136 @@
+package hotel.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OccupancyIntervalTreeTest {
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        OccupancyIntervalTree tree = new OccupancyIntervalTree();
+        tree.insert(10, 20, 101);
+
+        assertEquals(List.of(), overlapping(tree, 0, 10));
+        assertEquals(List.of(), overlapping(tree, 20, 30));
+        assertEquals(List.of(101), overlapping(tree, 9, 11));
+        assertEquals(List.of(101), overlapping(tree, 19, 20));
+        assertEquals(List.of(101), overlapping(tree, 12, 15));
+        assertEquals(List.of(101), overlapping(tree, 0, 100));
+    }
+
+    @Test
+    void emptyRangeMatchesNothing() {
+        OccupancyIntervalTree tree = new OccupancyIntervalTree();
+        tree.insert(10, 20, 101);
+
+        assertEquals(List.of(), overlapping(tree, 15, 15));
+        assertEquals(List.of(), overlapping(tree, 18, 12));
+    }
+
+    @Test
+    void sameStartDifferentRoomsAreKeptApart() {
+        OccupancyIntervalTree tree = new OccupancyIntervalTree();
+        tree.insert(10, 20, 101);
+        tree.insert(10, 15, 102);
+        tree.insert(10, 30, 103);
+
+        assertEquals(3, tree.size());
+        assertEquals(List.of(101, 103), overlapping(tree, 15, 25));
+
+        tree.remove(10, 103);
+
+        assertEquals(2, tree.size());
+        assertEquals(List.of(101), overlapping(tree, 15, 25));
+        assertEquals(List.of(), overlapping(tree, 20, 30));
+    }
+
+    @Test
+    void removeMissingIntervalThrows() {
+        OccupancyIntervalTree tree = new OccupancyIntervalTree();
+        tree.insert(10, 20, 101);
+
+        assertThrows(IllegalStateException.class, () -> tree.remove(10, 102));
+        assertThrows(IllegalStateException.class, () -> tree.remove(11, 101));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void sortedInsertsAndRemovesKeepMaxEnd() {
+        OccupancyIntervalTree tree = new OccupancyIntervalTree();
+        for (int i = 0; i < 1000; i++) {
+            tree.insert(i, i + 1, i);
+        }
+        tree.insert(0, 5000, 5000);
+
+        assertEquals(List.of(999, 5000), overlapping(tree, 999, 1000));
+        assertEquals(List.of(5000), overlapping(tree, 1000, 2000));
+
+        tree.remove(0, 5000);
+        for (int i = 0; i < 1000; i += 2) {
+            tree.remove(i, i);
+        }
+
+        assertEquals(500, tree.size());
+        assertEquals(List.of(), overlapping(tree, 1000, 2000));
+        assertEquals(List.of(), overlapping(tree, 998, 999));
+        assertEquals(List.of(997, 999), overlapping(tree, 996, 1000));
+    }
+
+    @Test
+    void randomOperationsMatchLinearScan() {
+        Random random = new Random(42);
+        OccupancyIntervalTree tree = new OccupancyIntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+
+        for (int step = 0; step < 20000; step++) {
+            if (intervals.isEmpty() || random.nextInt(3) > 0) {
+                long start = random.nextInt(1000);
+                long end = start + 1 + random.nextInt(60);
+                int roomNumber = step;
+                tree.insert(start, end, roomNumber);
+                intervals.add(new long[] {start, end, roomNumber});
+            } else {
+                long[] removed = intervals.remove(random.nextInt(intervals.size()));
+                tree.remove(removed[0], (int) removed[2]);
+            }
+
+            if (step % 50 == 0) {
+                long from = random.nextInt(1100);
+                long to = from + 1 + random.nextInt(80);
+                assertEquals(linearScan(intervals, from, to), new TreeSet<>(overlapping(tree, from, to)),
+                        "шаг " + step + ", диапазон [" + from + ", " + to + ")");
+            }
+        }
+        assertEquals(intervals.size(), tree.size());
+
+        for (long[] interval : intervals) {
+            tree.remove(interval[0], (int) interval[2]);
+        }
+        assertEquals(0, tree.size());
+        assertEquals(List.of(), overlapping(tree, 0, 2000));
+    }
+
+    private static List<Integer> overlapping(OccupancyIntervalTree tree, long from, long to) {
+        List<Integer> rooms = new ArrayList<>();
+        tree.forEachOverlapping(from, to, rooms::add);
+        rooms.sort(null);
+        return rooms;
+    }
+
+    private static TreeSet<Integer> linearScan(List<long[]> intervals, long from, long to) {
+        TreeSet<Integer> rooms = new TreeSet<>();
+        for (long[] interval : intervals) {
+            if (interval[0] < to && interval[1] > from) {
+                rooms.add((int) interval[2]);
+            }
+        }
+        return rooms;
+    }
+}
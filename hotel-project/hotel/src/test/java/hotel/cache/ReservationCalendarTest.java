@@ -0,0 +1,257 @@
+package hotel.cache;
+
+import hotel.config.RoomConfigurationService;
+import hotel.db.interfaces.ReservationRepository;
+import hotel.model.Reservation;
+import hotel.model.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationCalendarTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final int HORIZON_DAYS = 400;
+
+    private FakeReservationRepository repository;
+    private LocalDate today;
+    private ReservationCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FakeReservationRepository();
+        today = START;
+        RoomConfigurationService roomConfig = new RoomConfigurationService() {
+            @Override
+            public int getReservationHorizonDays() {
+                return HORIZON_DAYS;
+            }
+        };
+        calendar = new ReservationCalendar(repository, roomConfig) {
+            @Override
+            LocalDate today() {
+                return today;
+            }
+        };
+    }
+
+    @Test
+    void adjacentPeriodsDoNotOverlap() {
+        assertTrue(calendar.tryBook(101, day(10), day(20)));
+
+        assertTrue(calendar.isFree(101, day(0), day(10)));
+        assertTrue(calendar.isFree(101, day(20), day(30)));
+        assertFalse(calendar.isFree(101, day(9), day(11)));
+        assertFalse(calendar.isFree(101, day(19), day(20)));
+        assertTrue(calendar.isFree(102, day(10), day(20)));
+
+        assertTrue(calendar.tryBook(101, day(20), day(25)));
+        assertTrue(calendar.tryBook(101, day(5), day(10)));
+        assertFalse(calendar.tryBook(101, day(24), day(26)));
+    }
+
+    @Test
+    void periodsCrossingWordBoundaries() {
+        assertTrue(calendar.tryBook(101, day(60), day(70)));
+        assertTrue(calendar.tryBook(101, day(128), day(192)));
+
+        assertFalse(calendar.isFree(101, day(63), day(64)));
+        assertFalse(calendar.isFree(101, day(64), day(65)));
+        assertTrue(calendar.isFree(101, day(59), day(60)));
+        assertTrue(calendar.isFree(101, day(70), day(128)));
+        assertFalse(calendar.isFree(101, day(191), day(192)));
+        assertTrue(calendar.isFree(101, day(192), day(300)));
+        assertFalse(calendar.isFree(101, day(0), day(300)));
+    }
+
+    @Test
+    void releaseFreesOnlyGivenPeriod() {
+        assertTrue(calendar.tryBook(101, day(10), day(20)));
+        assertTrue(calendar.tryBook(101, day(20), day(80)));
+
+        calendar.release(101, day(10), day(20));
+        calendar.release(102, day(20), day(80));
+
+        assertTrue(calendar.isFree(101, day(10), day(20)));
+        assertFalse(calendar.isFree(101, day(20), day(21)));
+        assertFalse(calendar.isFree(101, day(79), day(80)));
+        assertTrue(calendar.tryBook(101, day(12), day(20)));
+    }
+
+    @Test
+    void findFreeRoomsKeepsOrderAndLimit() {
+        List<RoomSnapshot> candidates = List.of(room(103), room(101), room(102));
+        assertTrue(calendar.tryBook(101, day(10), day(20)));
+
+        assertEquals(List.of(103, 102), numbers(calendar.findFreeRooms(candidates, day(15), day(16), 5)));
+        assertEquals(List.of(103), numbers(calendar.findFreeRooms(candidates, day(15), day(16), 1)));
+        assertEquals(List.of(103, 101, 102), numbers(calendar.findFreeRooms(candidates, day(20), day(30), 5)));
+    }
+
+    @Test
+    void loadsReservationsFromRepository() {
+        repository.add(101, day(-5), day(3));
+        repository.add(102, day(-10), day(0));
+
+        assertFalse(calendar.isFree(101, day(2), day(3)));
+        assertTrue(calendar.isFree(101, day(3), day(4)));
+        assertTrue(calendar.isFree(102, day(0), day(10)));
+        assertEquals(1, repository.loads);
+    }
+
+    @Test
+    void bookingsSpanningRebaseSurviveReload() {
+        book(101, day(10), day(20));
+        book(101, day(380), day(400));
+        book(102, day(383), day(783));
+
+        today = day(191);
+        assertFalse(calendar.isFree(101, day(399), day(400)));
+        assertFalse(calendar.isFree(102, day(782), day(783)));
+        assertEquals(1, repository.loads);
+
+        today = day(192);
+        assertFalse(calendar.isFree(101, day(380), day(381)));
+        assertFalse(calendar.isFree(101, day(399), day(400)));
+        assertTrue(calendar.isFree(101, day(400), day(401)));
+        assertFalse(calendar.isFree(102, day(782), day(783)));
+        assertTrue(calendar.isFree(102, day(783), day(784)));
+        assertEquals(2, repository.loads);
+
+        assertTrue(calendar.tryBook(101, day(400), day(784)));
+        assertFalse(calendar.tryBook(101, day(395), day(401)));
+        assertTrue(calendar.isFree(101, day(10), day(20)));
+    }
+
+    @Test
+    void pendingBookingSurvivesRebase() {
+        assertTrue(calendar.tryBook(101, day(400), day(410)));
+
+        today = day(192);
+        assertFalse(calendar.isFree(101, day(400), day(410)));
+        assertFalse(calendar.tryBook(101, day(405), day(415)));
+        assertEquals(2, repository.loads);
+
+        repository.add(101, day(400), day(410));
+        calendar.confirm(101, day(400), day(410));
+        today = day(384);
+        assertFalse(calendar.isFree(101, day(400), day(410)));
+        assertEquals(3, repository.loads);
+    }
+
+    @Test
+    void rolledBackBookingIsNotRestoredByRebase() {
+        assertTrue(calendar.tryBook(101, day(400), day(410)));
+        today = day(192);
+        assertFalse(calendar.isFree(101, day(400), day(410)));
+
+        calendar.release(101, day(400), day(410));
+        assertTrue(calendar.isFree(101, day(400), day(410)));
+
+        today = day(384);
+        assertTrue(calendar.isFree(101, day(400), day(410)));
+        assertEquals(3, repository.loads);
+    }
+
+    @Test
+    void changesCommittedDuringLoadAreApplied() {
+        book(101, day(200), day(210));
+        assertTrue(calendar.tryBook(102, day(230), day(240)));
+        repository.duringLoad = () -> {
+            calendar.release(101, day(200), day(210));
+            repository.add(102, day(230), day(240));
+            calendar.confirm(102, day(230), day(240));
+        };
+
+        today = day(192);
+        assertTrue(calendar.isFree(101, day(200), day(210)));
+        assertFalse(calendar.isFree(102, day(230), day(240)));
+        assertEquals(2, repository.loads);
+    }
+
+    @Test
+    void releaseBeforeFirstLoadIsIgnored() {
+        repository.add(101, day(10), day(20));
+
+        calendar.release(101, day(10), day(20));
+
+        assertFalse(calendar.isFree(101, day(10), day(20)));
+    }
+
+    private void book(int roomNumber, LocalDate from, LocalDate to) {
+        assertTrue(calendar.tryBook(roomNumber, from, to));
+        repository.add(roomNumber, from, to);
+    }
+
+    private static LocalDate day(int offset) {
+        return START.plusDays(offset);
+    }
+
+    private static RoomSnapshot room(int number) {
+        return new RoomSnapshot(number, number, 2, 100.0, 3, false, false, null, null);
+    }
+
+    private static List<Integer> numbers(List<RoomSnapshot> rooms) {
+        return rooms.stream().map(RoomSnapshot::getNumber).toList();
+    }
+
+    private static class FakeReservationRepository implements ReservationRepository {
+
+        private final List<Reservation> reservations = new ArrayList<>();
+        private Runnable duringLoad;
+        private int loads;
+
+        void add(int roomNumber, LocalDate from, LocalDate to) {
+            reservations.add(new Reservation(new Room(roomNumber, roomNumber, 2, 100.0, 3), null, from, to));
+        }
+
+        @Override
+        public List<Reservation> findEndingAfter(LocalDate date) {
+            loads++;
+            List<Reservation> result = reservations.stream()
+                    .filter(reservation -> reservation.getCheckOutDate().isAfter(date))
+                    .toList();
+            if (duringLoad != null) {
+                duringLoad.run();
+            }
+            return result;
+        }
+
+        @Override
+        public List<Reservation> findOverlapping(int roomNumber, LocalDate from, LocalDate to) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Reservation> findByGuestId(long guestId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Reservation save(Reservation entity) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(Reservation entity) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Reservation findById(long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Reservation> findAll() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
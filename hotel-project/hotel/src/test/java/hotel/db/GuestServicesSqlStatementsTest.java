@@ -0,0 +1,99 @@
+package hotel.db;
+
+import hotel.App;
+import hotel.dto.ServiceDto;
+import hotel.enums.ServiceSortOption;
+import hotel.idempotency.IdempotencyService;
+import hotel.service.interfaces.IGuestManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static hotel.db.SqlStatementAssertions.assertStatementsAtMost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ограничивает число SQL-запросов, которые выполняет GET /api/guests/{guestId}/services.
+ * Сервисный слой поднимается на встроенной H2 с миграциями и тестовыми данными.
+ */
+class GuestServicesSqlStatementsTest {
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:hotel_sql_stats;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final long GUEST_WITH_SERVICES_ID = 1;
+
+    private static AnnotationConfigApplicationContext context;
+
+    @BeforeAll
+    static void startContext() {
+        System.setProperty("db.url", H2_URL);
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.show.sql", "false");
+        context = new AnnotationConfigApplicationContext(TestConfiguration.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void guestServicesAreReadWithOneStatement() {
+        IGuestManager guestManager = context.getBean(IGuestManager.class);
+        SqlStatementCounter counter = context.getBean(SqlStatementCounter.class);
+
+        for (ServiceSortOption option : ServiceSortOption.values()) {
+            List<ServiceDto> services = new ArrayList<>();
+            SqlRequestStats stats = counter.measure(
+                    () -> services.addAll(guestManager.getSortedGuestServiceDtos(GUEST_WITH_SERVICES_ID, option)));
+
+            assertEquals(2, services.size());
+            assertStatementsAtMost(stats, 1);
+            assertEquals(0, stats.getEntityLoadCount());
+        }
+    }
+
+    /**
+     * Контекст сервисного слоя без веб-слоя, как у бенчмарков.
+     */
+    @EnableTransactionManagement
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Configuration
+    @ComponentScan(basePackages = "hotel", excludeFilters = {
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {App.class, IdempotencyService.class, TestConfiguration.class}),
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = HandlerInterceptor.class),
+            @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = {Controller.class, ControllerAdvice.class})
+    })
+    @PropertySource("classpath:application.properties")
+    static class TestConfiguration {
+
+        @Bean
+        static PropertySourcesPlaceholderConfigurer propertyConfigurer() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactoryProvider emfProvider) {
+            return new JpaTransactionManager(emfProvider.getEntityManagerFactory());
+        }
+    }
+}
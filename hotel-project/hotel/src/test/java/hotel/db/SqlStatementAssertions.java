@@ -0,0 +1,27 @@
+package hotel.db;
+
+/**
+ * Проверки количества SQL-запросов для тестов, ограничивающих число запросов на эндпоинт.
+ */
+final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Проверяет, что количество SQL-запросов не превышает допустимого.
+     * @param stats счётчики измерения
+     * @param maxStatements допустимое количество запросов
+     * @throws AssertionError если запросов больше допустимого; сообщение перечисляет выполненные запросы
+     */
+    static void assertStatementsAtMost(SqlRequestStats stats, int maxStatements) {
+        if (stats.getStatementCount() > maxStatements) {
+            StringBuilder message = new StringBuilder("Ожидалось не более ")
+                    .append(maxStatements).append(" SQL-запросов, выполнено ")
+                    .append(stats.getStatementCount()).append(':');
+            stats.getStatementCounts()
+                    .forEach((sql, count) -> message.append('\n').append(count).append(" x ").append(sql));
+            throw new AssertionError(message.toString());
+        }
+    }
+}